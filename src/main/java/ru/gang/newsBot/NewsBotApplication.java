@@ -2,8 +2,11 @@ package ru.gang.newsBot;
 
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -11,27 +14,48 @@ import org.telegram.telegrambots.bots.DefaultBotOptions;
 import org.telegram.telegrambots.meta.TelegramBotsApi;
 import org.telegram.telegrambots.updatesreceivers.DefaultBotSession;
 import ru.gang.newsBot.bot.NewsBot;
+import ru.gang.newsBot.config.BackfillConfig;
+import ru.gang.newsBot.config.TelegramClientConfig;
+
+import java.lang.management.ManagementFactory;
 
 @Slf4j
 @SpringBootApplication
 @EnableScheduling
 public class NewsBotApplication {
+    private static final int STARTUP_STEPS_CAPACITY = 4096;
 
     @SneakyThrows
     public static void main(String[] args) {
-        ApplicationContext context = SpringApplication.run(NewsBotApplication.class, args);
+        SpringApplication application = new SpringApplication(NewsBotApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+        ApplicationContext context = application.run(args);
+        if (context.getBean(BackfillConfig.class).isOneShot()) {
+            log.info("Разовая загрузка архива: бот не регистрируется на получение обновлений");
+            return;
+        }
 
         try {
             TelegramBotsApi botsApi = new TelegramBotsApi(DefaultBotSession.class);
             botsApi.registerBot(context.getBean(NewsBot.class));
-            log.info("Бот зарегистрирован через TelegramBotsApi");
+            log.info("Бот зарегистрирован через TelegramBotsApi через {} мс после старта JVM",
+                    ManagementFactory.getRuntimeMXBean().getUptime());
         } catch (Exception e) {
             log.error("Ошибка при регистрации бота", e);
         }
     }
 
     @Bean
-    public DefaultBotOptions botOptions() {
-        return new DefaultBotOptions();
+    public DefaultBotOptions botOptions(@Value("${telegram.bot.base-url:https://api.telegram.org/bot}") String baseUrl,
+                                        TelegramClientConfig clientConfig) {
+        DefaultBotOptions options = new DefaultBotOptions();
+        options.setBaseUrl(baseUrl);
+        options.setMaxThreads(clientConfig.getMaxThreads());
+        options.setRequestConfig(RequestConfig.custom()
+                .setConnectTimeout(clientConfig.getConnectTimeoutMs())
+                .setSocketTimeout(clientConfig.getSocketTimeoutMs())
+                .setConnectionRequestTimeout(clientConfig.getConnectionRequestTimeoutMs())
+                .build());
+        return options;
     }
 }
\ No newline at end of file
@@ -1,51 +1,97 @@
 package ru.gang.newsBot.bot;
 
-import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.bots.DefaultBotOptions;
 import org.telegram.telegrambots.bots.TelegramLongPollingBot;
+import org.telegram.telegrambots.meta.api.methods.send.SendMediaGroup;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
 import org.telegram.telegrambots.meta.api.methods.send.SendPhoto;
+import org.telegram.telegrambots.meta.api.objects.Message;
 import org.telegram.telegrambots.meta.api.objects.Update;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+import ru.gang.newsBot.config.DispatchConfig;
+import ru.gang.newsBot.config.TelegramClientConfig;
+import ru.gang.newsBot.jfr.NewsEvent;
+import ru.gang.newsBot.jfr.TelegramSendEvent;
 import ru.gang.newsBot.model.NewsItem;
+import ru.gang.newsBot.service.DispatchQueue;
+import ru.gang.newsBot.service.DispatchQueue.DispatchItem;
+import ru.gang.newsBot.service.MediaGroupBatcher;
+import ru.gang.newsBot.service.NewsArchiveService;
 import ru.gang.newsBot.service.NewsPosterService;
 import ru.gang.newsBot.service.RssParserService;
+import ru.gang.newsBot.service.SentNewsRegistry;
+import ru.gang.newsBot.tracing.Span;
+import ru.gang.newsBot.tracing.Tracer;
 import ru.gang.newsBot.util.AsyncUtils;
+import ru.gang.newsBot.util.CycleDeadline;
+import ru.gang.newsBot.util.TelegramErrors;
+import ru.gang.newsBot.util.Workload;
 
-import java.io.*;
-import java.util.HashSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Component
+@Lazy(false)
 public class NewsBot extends TelegramLongPollingBot {
 
     private final RssParserService rssParserService;
     private final NewsPosterService newsPosterService;
     private final AsyncUtils asyncUtils;
+    private final NewsArchiveService newsArchiveService;
+    private final Tracer tracer;
+    private final DispatchQueue dispatchQueue;
+    private final DispatchConfig dispatchConfig;
+    private final MediaGroupBatcher mediaGroupBatcher;
+    private final TelegramAsyncClient telegramAsyncClient;
+    private final TelegramClientConfig telegramClientConfig;
+    private final SentNewsRegistry sentNewsRegistry;
+    private final TenantRegistry tenantRegistry;
 
-    @Getter
-    private final Set<String> sentNews = new HashSet<>();
 
     @Value("${telegram.bot.username}") private String botUsername;
     @Value("${telegram.bot.token}") private String botToken;
-
-    private static final String SENT_NEWS_FILE = "sent_news.txt";
+    @Value("${news.cycle.deadline-ms:120000}") private long cycleDeadlineMs;
 
     public NewsBot(DefaultBotOptions options,
                    RssParserService rssParserService,
                    NewsPosterService newsPosterService,
-                   AsyncUtils asyncUtils) {
+                   AsyncUtils asyncUtils,
+                   NewsArchiveService newsArchiveService,
+                   Tracer tracer,
+                   DispatchQueue dispatchQueue,
+                   DispatchConfig dispatchConfig,
+                   MediaGroupBatcher mediaGroupBatcher,
+                   TelegramAsyncClient telegramAsyncClient,
+                   TelegramClientConfig telegramClientConfig,
+                   SentNewsRegistry sentNewsRegistry,
+                   TenantRegistry tenantRegistry) {
         super(options);
         this.rssParserService = rssParserService;
         this.newsPosterService = newsPosterService;
         this.asyncUtils = asyncUtils;
+        this.newsArchiveService = newsArchiveService;
+        this.tracer = tracer;
+        this.dispatchQueue = dispatchQueue;
+        this.dispatchConfig = dispatchConfig;
+        this.mediaGroupBatcher = mediaGroupBatcher;
+        this.telegramAsyncClient = telegramAsyncClient;
+        this.telegramClientConfig = telegramClientConfig;
+        this.sentNewsRegistry = sentNewsRegistry;
+        this.tenantRegistry = tenantRegistry;
         log.info("Бот успешно запущен и подключен к Telegram API");
     }
 
@@ -82,17 +128,34 @@ public class NewsBot extends TelegramLongPollingBot {
         }
     }
 
-    public void fetchAndPostNews() {
+    public CompletableFuture<Void> fetchAndPostNews() {
+        return fetchAndPostNews(null);
+    }
+
+    /**
+     * Цикл обновления по заданным лентам; {@code null} — по всем лентам из конфигурации.
+     */
+    public CompletableFuture<Void> fetchAndPostNews(List<String> feeds) {
         log.info("Запущено обновление новостей...");
-        asyncUtils.asyncIoRun(this::loadSentNews);
 
-        Map<String, NewsItem> categoryNewsMap = rssParserService.fetchLatestNewsByCategory();
-        log.info("Финальный список отправки новостей: {} категорий", categoryNewsMap.size());
+        Span cycleSpan = tracer.startCycle(feeds == null ? "cycle" : "feed-cycle");
+        try {
+            return cycleSpan.call(() -> postLatestNews(feeds, asyncUtils.startDeadline(cycleDeadlineMs), cycleSpan));
+        } catch (RuntimeException e) {
+            cycleSpan.error(e).end();
+            throw e;
+        }
+    }
 
-        Set<CompletableFuture<Void>> sendFutures = new HashSet<>();
+    private CompletableFuture<Void> postLatestNews(List<String> feeds, CycleDeadline deadline, Span cycleSpan) {
+        Map<String, NewsItem> categoryNewsMap = feeds == null
+                ? rssParserService.fetchLatestNewsByCategory(deadline)
+                : rssParserService.fetchLatestNewsByCategory(feeds, deadline);
+        log.info("Финальный список отправки новостей: {} категорий", categoryNewsMap.size());
+        cycleSpan.attr("categories", categoryNewsMap.size());
 
         categoryNewsMap.forEach((category, news) -> {
-            if (sentNews.contains(news.getUrl())) {
+            if (sentNewsRegistry.contains(news.getUrl())) {
                 log.debug("Пропуск: уже отправляли - {}", news.getTitle());
                 return;
             }
@@ -103,64 +166,261 @@ public class NewsBot extends TelegramLongPollingBot {
                 return;
             }
 
-            String description = news.getDescription().trim();
-            if (description.isEmpty()) {
-                description = "Описание недоступно. Подробнее по ссылке ниже.";
+            dispatchQueue.offer(news, channelId);
+        });
+
+        List<DispatchItem> ready = dispatchQueue.drain();
+        cycleSpan.attr("sends", ready.size()).attr("deferred", dispatchQueue.pendingCount());
+
+        // Загруженное раздаём арендаторам, не повторяя загрузку лент и статей
+        CompletableFuture<Void> tenants = tenantRegistry.fanOut(categoryNewsMap.values(), deadline);
+
+        if (ready.isEmpty()) {
+            return tenants.whenComplete((v, ex) -> {
+                deadline.complete();
+                cycleSpan.end();
+            });
+        }
+
+        List<CompletableFuture<?>> lanes = new ArrayList<>();
+        lanes.add(tenants);
+        if (dispatchConfig.isMediaGroupEnabled()) {
+            lanes.add(mediaGroupBatcher.dispatch(ready, dispatchConfig.getMaxInFlight(),
+                    group -> sendGroup(group, deadline)));
+        } else {
+            // Несколько «дорожек» забирают новости из общего списка по порядку,
+            // поэтому приоритетные новости уходят первыми, а параллельность ограничена
+            Iterator<DispatchItem> queue = ready.iterator();
+            for (int i = 0; i < Math.min(dispatchConfig.getMaxInFlight(), ready.size()); i++) {
+                lanes.add(dispatchNext(queue, deadline));
             }
+        }
 
-            SendPhoto photoMessage = newsPosterService.buildPhotoMessage(
-                    news.getTitle(), news.getUrl(), news.getSource(),
-                    news.getImageUrl(), news.getDescription(), channelId
-            );
+        return CompletableFuture.allOf(lanes.toArray(new CompletableFuture[0]))
+                .thenRun(() -> log.info("Все новости обработаны, к отправке было {} из {} новостей",
+                        ready.size(), categoryNewsMap.size()))
+                .whenComplete((v, ex) -> {
+                    deadline.complete();
+                    cycleSpan.end();
+                });
+    }
+
+    /**
+     * Синхронная отправка одной новости в канал её категории, в обход очереди.
+     */
+    public boolean postNow(NewsItem news) {
+        String channelId = rssParserService.getCategoryChannel(news.getCategory());
+        if (channelId == null) {
+            log.warn("Не найден канал для категории: {}", news.getCategory());
+            return false;
+        }
+        return deliverPhoto(new DispatchItem(news, channelId, 0), CycleDeadline.unbounded()).join();
+    }
+
+    private CompletableFuture<Void> dispatchNext(Iterator<DispatchItem> queue, CycleDeadline deadline) {
+        DispatchItem item;
+        synchronized (queue) {
+            if (!queue.hasNext()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            item = queue.next();
+        }
+
+        if (dispatchQueue.isPaused() || deadline.isExpired()) {
+            dispatchQueue.offer(item.getNews(), item.getChannelId());
+            return dispatchNext(queue, deadline);
+        }
+
+        return sendNews(item, deadline).thenCompose(v -> dispatchNext(queue, deadline));
+    }
+
+    private CompletableFuture<Boolean> sendGroup(List<DispatchItem> items, CycleDeadline deadline) {
+        if (dispatchQueue.isPaused() || deadline.isExpired()) {
+            items.forEach(item -> dispatchQueue.offer(item.getNews(), item.getChannelId()));
+            return CompletableFuture.completedFuture(false);
+        }
+        List<DispatchItem> withImages = items.stream()
+                .filter(item -> item.getNews().hasImage())
+                .toList();
+
+        if (withImages.size() < 2) {
+            // Альбом из одного фото Telegram не принимает — отправляем по одной
+            return sendSequentially(items, deadline).thenApply(v -> true);
+        }
 
-            CompletableFuture<Void> sendFuture = asyncUtils.asyncIo(() -> {
-                try {
-                    execute(photoMessage);
-                    sentNews.add(news.getUrl());
-                    saveSentNews();
+        CompletableFuture<Void> singles = sendSequentially(items.stream()
+                .filter(item -> !item.getNews().hasImage())
+                .toList(), deadline);
+
+        String channelId = withImages.get(0).getChannelId();
+        CompletableFuture<Boolean> album = asyncUtils.asyncIo(Workload.SEND, () -> withImages.stream()
+                        .filter(item -> !sentNewsRegistry.wasPosted(item.getNews()))
+                        .toList(), "Проверка альбома для " + channelId, deadline)
+                .thenCompose(unsent -> {
+                    if (unsent == null || unsent.isEmpty()) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    if (unsent.size() == 1) {
+                        return deliverPhoto(unsent.get(0), deadline);
+                    }
+                    return deliverMediaGroup(unsent, channelId, deadline);
+                });
+
+        return singles.thenCombine(album, (v, delivered) -> Boolean.TRUE.equals(delivered));
+    }
+
+    // Одиночные отправки внутри альбома идут по очереди, чтобы не превышать maxInFlight
+    private CompletableFuture<Void> sendSequentially(List<DispatchItem> items, CycleDeadline deadline) {
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (DispatchItem item : items) {
+            chain = chain.thenCompose(v -> sendNews(item, deadline));
+        }
+        return chain;
+    }
+
+    private CompletableFuture<Boolean> deliverMediaGroup(List<DispatchItem> unsent, String channelId,
+                                                         CycleDeadline deadline) {
+        SendMediaGroup mediaGroup = newsPosterService.buildMediaGroup(
+                unsent.stream().map(DispatchItem::getNews).toList(), channelId);
+
+        long sendStartedAt = System.currentTimeMillis();
+        Span sendSpan = tracer.startSpan("telegram.sendMediaGroup")
+                .attr("chatId", channelId)
+                .attr("items", unsent.size());
+        TelegramSendEvent sendEvent = sendEvent(mediaGroup.getMethod(), channelId, unsent.get(0).getNews());
+        sendEvent.items = unsent.size();
+        CompletableFuture<?> request = telegramAsyncClient.supports(mediaGroup)
+                ? telegramAsyncClient.sendMediaGroup(mediaGroup)
+                : executeAsync(mediaGroup);
+
+        return withDeadline(request, deadline).handle((messages, ex) -> {
+            long duration = System.currentTimeMillis() - sendStartedAt;
+            try {
+                if (ex == null) {
+                    for (DispatchItem item : unsent) {
+                        newsArchiveService.recordPosted(item.getNews(), duration);
+                    }
+                    sentNewsRegistry.markSent(unsent.stream().map(item -> item.getNews().getUrl()).toList());
+                    sendEvent.finish("ok");
+                    log.info("Альбом из {} новостей отправлен в канал {}", unsent.size(), channelId);
                     return true;
-                } catch (TelegramApiException e) {
-                    log.error("Ошибка при отправке фото: {}", e.getMessage(), e);
-                    return false;
                 }
-            }, "Отправка новости " + news.getTitle()).thenAccept(success -> {
-                if (success) {
-                    log.debug("Новость '{}' успешно отправлена", news.getTitle());
-                }
-            });
 
-            sendFutures.add(sendFuture);
+                Throwable cause = TelegramErrors.unwrap(ex);
+                if (cause instanceof TelegramApiRequestException requestException
+                        && TelegramErrors.isThrottled(requestException)) {
+                    Duration retryAfter = TelegramErrors.retryAfter(requestException);
+                    unsent.forEach(item -> dispatchQueue.onThrottled(item, retryAfter));
+                    sendSpan.status("throttled");
+                    sendEvent.finish("throttled");
+                    return false;
+                }
+                log.error("Ошибка при отправке альбома: {}", cause.getMessage(), cause);
+                sendSpan.error(cause);
+                sendEvent.finish(NewsEvent.outcomeOf(cause));
+                unsent.forEach(item -> newsArchiveService.recordFailed(item.getNews(), duration));
+                return false;
+            } finally {
+                sendSpan.end();
+            }
         });
+    }
 
-        if (!sendFutures.isEmpty()) {
-            CompletableFuture.allOf(sendFutures.toArray(new CompletableFuture[0]))
-                    .thenRun(() -> log.info("Все новости обработаны, отправлено {} из {} новостей",
-                            sendFutures.size(), categoryNewsMap.size()));
-        }
+    private CompletableFuture<Void> sendNews(DispatchItem item, CycleDeadline deadline) {
+        NewsItem news = item.getNews();
+        return deliverPhoto(item, deadline)
+                .thenAccept(success -> {
+                    if (Boolean.TRUE.equals(success)) {
+                        log.debug("Новость '{}' успешно отправлена", news.getTitle());
+                    }
+                });
     }
 
-    private void loadSentNews() {
-        try (BufferedReader reader = new BufferedReader(new FileReader(SENT_NEWS_FILE))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sentNews.add(line.trim());
-            }
-            log.debug("Загружено {} отправленных ранее новостей", sentNews.size());
-        } catch (IOException e) {
-            log.info("Файл отправленных новостей не найден. Создаём новый.");
+    private CompletableFuture<Boolean> deliverPhoto(DispatchItem item, CycleDeadline deadline) {
+        NewsItem news = item.getNews();
+        if (sentNewsRegistry.contains(news.getUrl())) {
+            log.debug("Пропуск: новость уже отправлена - {}", news.getTitle());
+            return CompletableFuture.completedFuture(false);
         }
+
+        // Поток пула отправки занят только проверкой архива, сам запрос к Telegram его не держит
+        return asyncUtils.asyncIo(Workload.SEND, () -> sentNewsRegistry.wasPosted(news),
+                        "Проверка архива для " + news.getTitle(), deadline)
+                .thenCompose(posted -> {
+                    if (posted == null) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    if (posted) {
+                        log.debug("Пропуск: новость уже отправлена - {}", news.getTitle());
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    return sendPhoto(item, deadline);
+                });
     }
 
-    private void saveSentNews() {
-        asyncUtils.asyncIoRun(() -> {
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(SENT_NEWS_FILE))) {
-                for (String newsUrl : sentNews) {
-                    writer.write(newsUrl);
-                    writer.newLine();
+    private CompletableFuture<Boolean> sendPhoto(DispatchItem item, CycleDeadline deadline) {
+        NewsItem news = item.getNews();
+        SendPhoto photoMessage = newsPosterService.buildPhotoMessage(
+                news.getTitle(), news.getUrl(), news.getSource(),
+                news.getImageUrl(), news.getDescription(), item.getChannelId()
+        );
+
+        long sendStartedAt = System.currentTimeMillis();
+        Span sendSpan = tracer.startSpan("telegram.send")
+                .attr("category", news.getCategory())
+                .attr("chatId", item.getChannelId())
+                .attr("priority", item.getPriority());
+        TelegramSendEvent sendEvent = sendEvent(photoMessage.getMethod(), item.getChannelId(), news);
+        sendEvent.chars = photoMessage.getCaption() != null ? photoMessage.getCaption().length() : 0;
+        CompletableFuture<Message> request = telegramAsyncClient.supports(photoMessage)
+                ? telegramAsyncClient.sendPhoto(photoMessage)
+                : executeAsync(photoMessage);
+
+        return withDeadline(request, deadline).handle((message, ex) -> {
+            try {
+                if (ex == null) {
+                    sentNewsRegistry.markSent(news.getUrl());
+                    newsArchiveService.recordPosted(news, System.currentTimeMillis() - sendStartedAt);
+                    sendEvent.finish("ok");
+                    return true;
                 }
-            } catch (IOException e) {
-                log.error("Ошибка при сохранении отправленных новостей", e);
+
+                Throwable cause = TelegramErrors.unwrap(ex);
+                if (cause instanceof TelegramApiRequestException requestException
+                        && TelegramErrors.isThrottled(requestException)) {
+                    dispatchQueue.onThrottled(item, TelegramErrors.retryAfter(requestException));
+                    sendSpan.status("throttled");
+                    sendEvent.finish("throttled");
+                    return false;
+                }
+                sendEvent.finish(NewsEvent.outcomeOf(cause));
+                if (cause instanceof TimeoutException || cause instanceof CancellationException) {
+                    log.warn("Отправка новости '{}' не завершилась до дедлайна", news.getTitle());
+                } else {
+                    log.error("Ошибка при отправке фото: {}", cause.getMessage(), cause);
+                }
+                sendSpan.error(cause);
+                newsArchiveService.recordFailed(news, System.currentTimeMillis() - sendStartedAt);
+                return false;
+            } finally {
+                sendSpan.end();
             }
         });
     }
-}
\ No newline at end of file
+
+    private TelegramSendEvent sendEvent(String method, String chatId, NewsItem news) {
+        TelegramSendEvent event = new TelegramSendEvent();
+        event.url(getBaseUrl()).category(news.getCategory());
+        event.method = method;
+        event.chatId = chatId;
+        event.begin();
+        return event;
+    }
+
+    private <T> CompletableFuture<T> withDeadline(CompletableFuture<T> request, CycleDeadline deadline) {
+        deadline.track(request);
+        return request
+                .orTimeout(deadline.timeoutMillis(telegramClientConfig.getRequestTimeoutMs()), TimeUnit.MILLISECONDS)
+                .whenComplete((result, ex) -> deadline.untrack(request));
+    }
+}
@@ -0,0 +1,115 @@
+package ru.gang.newsBot.bot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.api.methods.PartialBotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.send.SendMediaGroup;
+import org.telegram.telegrambots.meta.api.methods.send.SendPhoto;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.media.InputMedia;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import ru.gang.newsBot.config.TelegramClientConfig;
+
+import java.io.Serializable;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Неблокирующая отправка в Bot API поверх общего {@link HttpClient}: пока запрос в полёте,
+ * поток не занят, поэтому число одновременных отправок ограничено лимитами Telegram, а не пулом.
+ * Поддерживает фото по URL; загрузка файлов остаётся за синхронным клиентом библиотеки.
+ */
+@Slf4j
+@Component
+public class TelegramAsyncClient {
+    private final TelegramClientConfig config;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String apiUrl;
+
+    public TelegramAsyncClient(TelegramClientConfig config,
+                               @Qualifier("sendTaskExecutor") Executor sendExecutor,
+                               @Value("${telegram.bot.token}") String botToken,
+                               @Value("${telegram.bot.base-url:https://api.telegram.org/bot}") String baseUrl) {
+        this.config = config;
+        this.apiUrl = baseUrl + botToken + "/";
+        this.httpClient = HttpClient.newBuilder()
+                .version(config.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(config.getConnectTimeoutMs()))
+                .executor(sendExecutor)
+                .build();
+    }
+
+    public boolean supports(SendPhoto photo) {
+        return photo.getPhoto() != null && !photo.getPhoto().isNew();
+    }
+
+    public boolean supports(SendMediaGroup mediaGroup) {
+        return mediaGroup.getMedias().stream().noneMatch(InputMedia::isNewMedia);
+    }
+
+    public CompletableFuture<Message> sendPhoto(SendPhoto photo) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("chat_id", photo.getChatId());
+        body.put("photo", photo.getPhoto().getAttachName());
+        putIfPresent(body, "caption", photo.getCaption());
+        putIfPresent(body, "parse_mode", photo.getParseMode());
+        if (photo.getDisableNotification() != null) {
+            body.put("disable_notification", photo.getDisableNotification());
+        }
+        return call(photo, body);
+    }
+
+    public CompletableFuture<ArrayList<Message>> sendMediaGroup(SendMediaGroup mediaGroup) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("chat_id", mediaGroup.getChatId());
+        ArrayNode medias = body.putArray("media");
+        mediaGroup.getMedias().forEach(media -> medias.add(objectMapper.valueToTree(media)));
+        if (mediaGroup.getDisableNotification() != null) {
+            body.put("disable_notification", mediaGroup.getDisableNotification());
+        }
+        return call(mediaGroup, body);
+    }
+
+    private <T extends Serializable> CompletableFuture<T> call(PartialBotApiMethod<T> method, ObjectNode body) {
+        try {
+            method.validate();
+        } catch (TelegramApiException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + method.getMethod()))
+                .timeout(Duration.ofMillis(config.getRequestTimeoutMs()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .thenApply(response -> {
+                    try {
+                        return method.deserializeResponse(response.body());
+                    } catch (TelegramApiException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    private void putIfPresent(ObjectNode body, String field, String value) {
+        if (value != null) {
+            body.put(field, value);
+        }
+    }
+}
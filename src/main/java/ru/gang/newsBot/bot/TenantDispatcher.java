@@ -0,0 +1,177 @@
+package ru.gang.newsBot.bot;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.telegram.telegrambots.meta.api.methods.send.SendPhoto;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+import ru.gang.newsBot.config.TenantConfig.Tenant;
+import ru.gang.newsBot.jfr.NewsEvent;
+import ru.gang.newsBot.jfr.TelegramSendEvent;
+import ru.gang.newsBot.model.NewsItem;
+import ru.gang.newsBot.service.DispatchQueue;
+import ru.gang.newsBot.service.DispatchQueue.DispatchItem;
+import ru.gang.newsBot.service.NearDuplicateDetector;
+import ru.gang.newsBot.service.NewsPosterService;
+import ru.gang.newsBot.service.SentUrlStore;
+import ru.gang.newsBot.util.CycleDeadline;
+import ru.gang.newsBot.util.TelegramErrors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Отправка для одного арендатора: свой токен и клиент Bot API, свои каналы и фильтр категорий,
+ * стиль подписи, очередь с лимитами и учёт отправленного. Новости приходят из общего цикла загрузки.
+ */
+@Slf4j
+public class TenantDispatcher {
+    private static final int MAX_REJECTED = 10000;
+
+    @Getter private final String id;
+    private final Tenant tenant;
+    private final TelegramAsyncClient client;
+    private final DispatchQueue dispatchQueue;
+    private final SentUrlStore sentNews;
+    private final NewsPosterService newsPosterService;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final String baseUrl;
+    private final long requestTimeoutMs;
+    // Новости, от которых арендатор отказался окончательно: без изображения или отклонённые Bot API
+    private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+    public TenantDispatcher(String id, Tenant tenant, TelegramAsyncClient client, DispatchQueue dispatchQueue,
+                            SentUrlStore sentNews, NewsPosterService newsPosterService,
+                            NearDuplicateDetector nearDuplicateDetector, String baseUrl, long requestTimeoutMs) {
+        this.id = id;
+        this.tenant = tenant;
+        this.client = client;
+        this.dispatchQueue = dispatchQueue;
+        this.sentNews = sentNews;
+        this.newsPosterService = newsPosterService;
+        this.nearDuplicateDetector = nearDuplicateDetector;
+        this.baseUrl = baseUrl;
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    public boolean accepts(String category) {
+        return channelFor(category) != null;
+    }
+
+    /**
+     * Отправлять новость больше не нужно: она отправлена или отклонена окончательно.
+     */
+    public boolean isSettled(String url) {
+        return sentNews.contains(url) || rejected.contains(url);
+    }
+
+    SentUrlStore getSentNews() {
+        return sentNews;
+    }
+
+    public CompletableFuture<Void> dispatch(Collection<NewsItem> news, CycleDeadline deadline) {
+        for (NewsItem item : news) {
+            String channelId = channelFor(item.getCategory());
+            if (channelId != null && !isSettled(item.getUrl())) {
+                dispatchQueue.offer(item, channelId);
+            }
+        }
+
+        List<DispatchItem> ready = dispatchQueue.drain();
+        if (ready.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Iterator<DispatchItem> queue = ready.iterator();
+        List<CompletableFuture<Void>> lanes = new ArrayList<>();
+        for (int i = 0; i < Math.min(tenant.getMaxInFlight(), ready.size()); i++) {
+            lanes.add(dispatchNext(queue, deadline));
+        }
+        return CompletableFuture.allOf(lanes.toArray(new CompletableFuture[0]))
+                .thenRun(() -> log.info("Арендатор {}: обработано {} новостей", id, ready.size()));
+    }
+
+    private String channelFor(String category) {
+        if (!tenant.getCategories().isEmpty() && !tenant.getCategories().contains(category)) {
+            return null;
+        }
+        return tenant.getChannels().get(category);
+    }
+
+    private CompletableFuture<Void> dispatchNext(Iterator<DispatchItem> queue, CycleDeadline deadline) {
+        DispatchItem item;
+        synchronized (queue) {
+            if (!queue.hasNext()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            item = queue.next();
+        }
+
+        NewsItem news = item.getNews();
+        if (!news.hasImage()) {
+            log.debug("Арендатор {}: пропуск новости без изображения - {}", id, news.getTitle());
+            reject(news.getUrl());
+            return dispatchNext(queue, deadline);
+        }
+        if (dispatchQueue.isPaused() || deadline.isExpired()) {
+            dispatchQueue.offer(news, item.getChannelId());
+            return dispatchNext(queue, deadline);
+        }
+
+        return send(item, deadline).thenCompose(v -> dispatchNext(queue, deadline));
+    }
+
+    private CompletableFuture<Void> send(DispatchItem item, CycleDeadline deadline) {
+        NewsItem news = item.getNews();
+        SendPhoto photo = newsPosterService.buildPhotoMessage(news, item.getChannelId(),
+                tenant.getChannelLinks().getOrDefault(news.getCategory(), ""), tenant.getCaptionStyle());
+
+        TelegramSendEvent sendEvent = new TelegramSendEvent();
+        sendEvent.url(baseUrl).category(news.getCategory());
+        sendEvent.method = photo.getMethod();
+        sendEvent.chatId = item.getChannelId();
+        sendEvent.begin();
+
+        CompletableFuture<?> request = client.sendPhoto(photo);
+        deadline.track(request);
+        return request
+                .orTimeout(deadline.timeoutMillis(requestTimeoutMs), TimeUnit.MILLISECONDS)
+                .handle((message, ex) -> {
+                    deadline.untrack(request);
+                    if (ex == null) {
+                        sentNews.add(news.getUrl());
+                        sentNews.save();
+                        nearDuplicateDetector.markPublished(news.getUrl());
+                        sendEvent.finish("ok");
+                        return null;
+                    }
+
+                    Throwable cause = TelegramErrors.unwrap(ex);
+                    if (cause instanceof TelegramApiRequestException requestException
+                            && TelegramErrors.isThrottled(requestException)) {
+                        dispatchQueue.onThrottled(item, TelegramErrors.retryAfter(requestException));
+                        sendEvent.finish("throttled");
+                        return null;
+                    }
+                    log.error("Арендатор {}: ошибка при отправке фото: {}", id, cause.getMessage());
+                    sendEvent.finish(NewsEvent.outcomeOf(cause));
+                    // Временные ошибки повторятся в следующем цикле, окончательные - нет
+                    if (TelegramErrors.isTerminal(cause)) {
+                        reject(news.getUrl());
+                    }
+                    return null;
+                });
+    }
+
+    private void reject(String url) {
+        if (rejected.size() >= MAX_REJECTED) {
+            rejected.clear();
+        }
+        rejected.add(url);
+    }
+}
@@ -0,0 +1,107 @@
+package ru.gang.newsBot.bot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.gang.newsBot.config.DispatchConfig;
+import ru.gang.newsBot.config.TelegramClientConfig;
+import ru.gang.newsBot.config.TenantConfig;
+import ru.gang.newsBot.config.TenantConfig.Tenant;
+import ru.gang.newsBot.model.NewsItem;
+import ru.gang.newsBot.service.DeliveryStatus;
+import ru.gang.newsBot.service.DispatchQueue;
+import ru.gang.newsBot.service.NearDuplicateDetector;
+import ru.gang.newsBot.service.NewsPosterService;
+import ru.gang.newsBot.service.SentUrlStore;
+import ru.gang.newsBot.service.SnapshotParticipant;
+import ru.gang.newsBot.util.AsyncUtils;
+import ru.gang.newsBot.util.CycleDeadline;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Арендаторы из news.tenants: каждый цикл загрузки один раз собирает новости,
+ * а затем раздаёт их всем арендаторам вместе с основным ботом.
+ */
+@Slf4j
+@Component
+public class TenantRegistry implements SnapshotParticipant, DeliveryStatus {
+    private final List<TenantDispatcher> dispatchers = new ArrayList<>();
+
+    public TenantRegistry(TenantConfig tenantConfig,
+                          TelegramClientConfig clientConfig,
+                          DispatchConfig dispatchConfig,
+                          NewsPosterService newsPosterService,
+                          NearDuplicateDetector nearDuplicateDetector,
+                          AsyncUtils asyncUtils,
+                          @Qualifier("sendTaskExecutor") Executor sendExecutor,
+                          @Value("${telegram.bot.base-url:https://api.telegram.org/bot}") String defaultBaseUrl,
+                          @Value("${news.sent-news-file:sent_news.txt}") String sentNewsFile) {
+        tenantConfig.getTenants().forEach((id, tenant) -> {
+            if (tenant.getToken() == null || tenant.getToken().isBlank()) {
+                log.warn("Арендатор {} пропущен: не задан токен бота", id);
+                return;
+            }
+            String baseUrl = tenant.getBaseUrl() != null ? tenant.getBaseUrl() : defaultBaseUrl;
+            SentUrlStore sentNews = new SentUrlStore(sentNewsFileFor(id, tenant, sentNewsFile), asyncUtils);
+            sentNews.load();
+
+            dispatchers.add(new TenantDispatcher(id, tenant,
+                    new TelegramAsyncClient(clientConfig, sendExecutor, tenant.getToken(), baseUrl),
+                    new DispatchQueue(dispatchConfig, false), sentNews, newsPosterService, nearDuplicateDetector,
+                    baseUrl, clientConfig.getRequestTimeoutMs()));
+            log.info("Подключён арендатор {}: каналов {}, стиль подписи {}",
+                    id, tenant.getChannels().size(), tenant.getCaptionStyle());
+        });
+    }
+
+    @Override
+    public String snapshotKey() {
+        return "tenantSentNews";
+    }
+
+    @Override
+    public Serializable captureSnapshot() {
+        HashMap<String, HashSet<String>> snapshot = new HashMap<>();
+        dispatchers.forEach(dispatcher -> snapshot.put(dispatcher.getId(), dispatcher.getSentNews().snapshot()));
+        return snapshot;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restoreSnapshot(Serializable state) {
+        Map<String, Set<String>> snapshot = (Map<String, Set<String>>) state;
+        dispatchers.forEach(dispatcher -> {
+            Set<String> urls = snapshot.get(dispatcher.getId());
+            if (urls != null) dispatcher.getSentNews().addAll(urls);
+        });
+    }
+
+    @Override
+    public boolean postedForAll(String category, String url) {
+        return dispatchers.stream()
+                .filter(dispatcher -> dispatcher.accepts(category))
+                .allMatch(dispatcher -> dispatcher.isSettled(url));
+    }
+
+    public CompletableFuture<Void> fanOut(Collection<NewsItem> news, CycleDeadline deadline) {
+        if (dispatchers.isEmpty() || news.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.allOf(dispatchers.stream()
+                .map(dispatcher -> dispatcher.dispatch(news, deadline))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private String sentNewsFileFor(String id, Tenant tenant, String defaultFile) {
+        if (tenant.getSentNewsFile() != null) return tenant.getSentNewsFile();
+        int dot = defaultFile.lastIndexOf('.');
+        return dot > 0
+                ? defaultFile.substring(0, dot) + "-" + id + defaultFile.substring(dot)
+                : defaultFile + "-" + id;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.gang.newsBot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "news.fetch.adaptive")
+public class AdaptivePollingConfig {
+    private boolean enabled = false;
+    private long minIntervalMs = 60000;
+    private long maxIntervalMs = 1800000;
+    private long initialIntervalMs = 300000;
+    // Какую долю среднего интервала публикаций ждать между опросами
+    private double pollFraction = 0.5;
+    private double ewmaAlpha = 0.3;
+    private double backoffFactor = 1.5;
+    private double jitterRatio = 0.2;
+    // Через сколько повторить опрос, если пул опроса переполнен
+    private long busyRetryMs = 5000;
+}
@@ -0,0 +1,17 @@
+package ru.gang.newsBot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "news.archive")
+@PropertySource("classpath:archive.properties")
+public class ArchiveConfig {
+    private boolean enabled = true;
+    private int batchSize = 50;
+    private int maxPendingSize = 10000;
+    private long flushIntervalMs = 5000;
+}
@@ -0,0 +1,24 @@
+package ru.gang.newsBot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "news.backfill")
+public class BackfillConfig {
+    // Файл или каталог с архивными RSS; если не задан, загрузка не запускается
+    private String path;
+    private boolean post = false;
+    private int postsPerMinute = 20;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean exitOnComplete = true;
+
+    /**
+     * Разовый прогон: после загрузки приложение завершится, поэтому бот не регистрируется на получение обновлений.
+     */
+    public boolean isOneShot() {
+        return path != null && !path.isBlank() && exitOnComplete;
+    }
+}
@@ -0,0 +1,16 @@
+package ru.gang.newsBot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "news.dedup")
+public class DedupConfig {
+    private boolean nearDuplicateEnabled = true;
+    private int windowMinutes = 360;
+    private int maxHammingDistance = 3;
+    private int shingleSize = 3;
+    private int maxEntries = 20000;
+}
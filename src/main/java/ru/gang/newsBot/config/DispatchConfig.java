@@ -0,0 +1,29 @@
+package ru.gang.newsBot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "news.dispatch")
+public class DispatchConfig {
+    private Map<String, Integer> categoryPriorities = new HashMap<>();
+    private Map<String, Integer> feedPriorities = new HashMap<>();
+    private int defaultPriority = 0;
+    // Прибавка к приоритету для новостей, опубликованных не позже freshnessWindowMinutes назад
+    private int freshnessBoost = 10;
+    private long freshnessWindowMinutes = 15;
+    // Лимит Telegram на сообщения в один канал
+    private int maxPerChatPerMinute = 20;
+    // Отправки не держат потоков, поэтому «дорожек» может быть больше, чем потоков пула send
+    private int maxInFlight = 16;
+    // Объединение новостей одного канала в альбом (sendMediaGroup). За цикл в канал приходит
+    // по новости на категорию, поэтому окно накопления охватывает несколько циклов опроса
+    private boolean mediaGroupEnabled = false;
+    private long mediaGroupLingerMs = 180000;
+    private int mediaGroupMaxSize = 10;
+}
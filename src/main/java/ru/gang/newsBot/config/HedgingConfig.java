@@ -0,0 +1,18 @@
+package ru.gang.newsBot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "news.rss.hedging")
+public class HedgingConfig {
+    private boolean enabled = false;
+    private double percentile = 0.95;
+    private int minSamples = 20;
+    private int windowSize = 100;
+    private long minDelayMs = 100;
+    private double budgetRatio = 0.1;
+    private double maxBudgetTokens = 10;
+}
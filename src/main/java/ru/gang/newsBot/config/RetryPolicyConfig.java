@@ -0,0 +1,37 @@
+package ru.gang.newsBot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "news.http.retry")
+public class RetryPolicyConfig {
+    private Policy defaults = new Policy();
+    // Политика для отдельного хоста целиком заменяет defaults
+    private Map<String, Policy> hosts = new HashMap<>();
+
+    @Data
+    public static class Policy {
+        // Если не задано, берётся maxRetries из настроек запроса
+        private Integer maxRetries;
+        private long baseDelayMs = 500;
+        private long maxDelayMs = 30000;
+        private Set<Integer> retryStatuses = Set.of(408, 429, 500, 502, 503, 504);
+        private List<String> retryExceptions = List.of(
+                "java.net.SocketTimeoutException",
+                "java.net.ConnectException",
+                "java.net.SocketException");
+        private boolean respectRetryAfter = true;
+        private long maxRetryAfterMs = 60000;
+        // Повторов не больше этой доли от числа запросов к хосту
+        private double budgetRatio = 0.2;
+        private double maxBudgetTokens = 10;
+    }
+}
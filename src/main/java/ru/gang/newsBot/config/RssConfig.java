@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "news.rss")
@@ -11,4 +13,7 @@ public class RssConfig {
     private int timeout = 30000;
     private int maxRetries = 3;
     private int maxTimeout = 60000;
+    // Сколько страниц разбирается одновременно на CPU-пуле; 0 — по числу ядер
+    private int maxConcurrentParses = 0;
+    private List<String> feeds = List.of("https://lenta.ru/rss/news");
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package ru.gang.newsBot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "news.snapshot")
+public class SnapshotConfig {
+    private boolean enabled = true;
+    private String path = "state_snapshot.bin";
+    private long intervalMs = 300000;
+}
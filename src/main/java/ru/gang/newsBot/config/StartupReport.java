@@ -0,0 +1,63 @@
+package ru.gang.newsBot.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Отчёт о времени запуска: от старта JVM до готовности контекста и самые долгие бины,
+ * если контекст запущен с {@link BufferingApplicationStartup}.
+ */
+@Slf4j
+@Component
+public class StartupReport {
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+
+    @Value("${news.startup.report-top-beans:10}") private int topBeans;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        long jvmUptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        Duration timeTaken = event.getTimeTaken();
+        log.info("Запуск завершён: {} мс от старта JVM, из них контекст {} мс (AOT: {}, CDS: {}, ленивая инициализация: {})",
+                jvmUptimeMs, timeTaken == null ? "?" : timeTaken.toMillis(),
+                AotDetector.useGeneratedArtifacts() ? "да" : "нет",
+                usesSharedArchive() ? "да" : "нет",
+                event.getApplicationContext().getEnvironment().getProperty("spring.main.lazy-initialization", "false"));
+
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering) || topBeans <= 0) return;
+
+        // Забираем буфер целиком, чтобы шаги запуска не держались в памяти всё время работы
+        List<TimelineEvent> steps = buffering.drainBufferedTimeline().getEvents();
+        steps.stream()
+                .filter(step -> BEAN_STEP.equals(step.getStartupStep().getName()))
+                .sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+                .limit(topBeans)
+                .forEach(step -> log.info("Создание бина {}: {} мс", beanName(step), step.getDuration().toMillis()));
+    }
+
+    private String beanName(TimelineEvent step) {
+        for (StartupStep.Tag tag : step.getStartupStep().getTags()) {
+            if ("beanName".equals(tag.getKey())) return tag.getValue();
+        }
+        return "?";
+    }
+
+    private static boolean usesSharedArchive() {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile"));
+    }
+}
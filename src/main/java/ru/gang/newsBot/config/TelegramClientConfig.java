@@ -0,0 +1,20 @@
+package ru.gang.newsBot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "telegram.client")
+public class TelegramClientConfig {
+    // Пул библиотеки для executeAsync и загрузки файлов
+    private int maxThreads = 8;
+    private int connectTimeoutMs = 10000;
+    // Должен превышать таймаут long polling getUpdates (50 с)
+    private int socketTimeoutMs = 75000;
+    private int connectionRequestTimeoutMs = 10000;
+    // Таймаут одного асинхронного запроса отправки
+    private long requestTimeoutMs = 30000;
+    private boolean http2 = true;
+}
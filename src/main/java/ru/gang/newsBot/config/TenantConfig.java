@@ -0,0 +1,38 @@
+package ru.gang.newsBot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import ru.gang.newsBot.model.CaptionStyle;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Дополнительные боты (арендаторы), которые получают новости из общего цикла загрузки:
+ * news.tenants.&lt;id&gt;.token, .channels.&lt;категория&gt;, .categories, .caption-style, .channel-links.&lt;категория&gt;.
+ * Основной бот по-прежнему настраивается через telegram.bot.* и news.channels.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "news")
+public class TenantConfig {
+    private Map<String, Tenant> tenants = new HashMap<>();
+
+    @Data
+    public static class Tenant {
+        private String token;
+        // Пусто — тот же адрес Bot API, что у основного бота
+        private String baseUrl;
+        private Map<String, String> channels = new HashMap<>();
+        // Пусто — все категории, для которых задан канал
+        private Set<String> categories = new HashSet<>();
+        private CaptionStyle captionStyle = CaptionStyle.FULL;
+        private Map<String, String> channelLinks = new HashMap<>();
+        private int maxInFlight = 4;
+        // Пусто — news.sent-news-file с суффиксом арендатора
+        private String sentNewsFile;
+    }
+}
@@ -1,37 +1,35 @@
 package ru.gang.newsBot.config;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import ru.gang.newsBot.tracing.TraceContextTaskDecorator;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Configuration
+@Lazy(false)
 @EnableAsync
 @RequiredArgsConstructor
 public class ThreadPoolConfig {
 
-    @Value("${thread-pool.io.core-size:10}") private int ioPoolCoreSize;
-    @Value("${thread-pool.io.max-size:50}") private int ioPoolMaxSize;
-    @Value("${thread-pool.io.queue-capacity:100}") private int ioPoolQueueCapacity;
-    @Value("${thread-pool.io.keep-alive-seconds:120}") private int ioPoolKeepAliveSeconds;
-    @Value("${thread-pool.io.min-size:5}") private int ioMinSize;
-    @Value("${thread-pool.io.absolute-max-size:100}") private int ioAbsoluteMaxSize;
-
     @Value("${thread-pool.cpu.core-size:4}") private int cpuPoolCoreSize;
     @Value("${thread-pool.cpu.max-size:8}") private int cpuPoolMaxSize;
     @Value("${thread-pool.cpu.queue-capacity:50}") private int cpuPoolQueueCapacity;
@@ -39,12 +37,62 @@ public class ThreadPoolConfig {
     @Value("${thread-pool.cpu.min-size:2}") private int cpuMinSize;
     @Value("${thread-pool.cpu.absolute-max-size:16}") private int cpuAbsoluteMaxSize;
 
+    @Value("${thread-pool.feed.core-size:8}") private int feedPoolCoreSize;
+    @Value("${thread-pool.feed.max-size:16}") private int feedPoolMaxSize;
+    @Value("${thread-pool.feed.queue-capacity:1000}") private int feedPoolQueueCapacity;
+    @Value("${thread-pool.feed.rejection-policy:abort}") private String feedRejectionPolicy;
+    @Value("${thread-pool.feed.keep-alive-seconds:120}") private int feedPoolKeepAliveSeconds;
+    @Value("${thread-pool.feed.absolute-max-size:16}") private int feedAbsoluteMaxSize;
+
+    @Value("${thread-pool.scrape.core-size:10}") private int scrapePoolCoreSize;
+    @Value("${thread-pool.scrape.max-size:32}") private int scrapePoolMaxSize;
+    @Value("${thread-pool.scrape.queue-capacity:500}") private int scrapePoolQueueCapacity;
+    @Value("${thread-pool.scrape.rejection-policy:abort}") private String scrapeRejectionPolicy;
+    @Value("${thread-pool.scrape.keep-alive-seconds:120}") private int scrapePoolKeepAliveSeconds;
+    @Value("${thread-pool.scrape.absolute-max-size:32}") private int scrapeAbsoluteMaxSize;
+
+    @Value("${thread-pool.send.core-size:4}") private int sendPoolCoreSize;
+    @Value("${thread-pool.send.max-size:8}") private int sendPoolMaxSize;
+    @Value("${thread-pool.send.queue-capacity:200}") private int sendPoolQueueCapacity;
+    @Value("${thread-pool.send.rejection-policy:abort}") private String sendRejectionPolicy;
+    @Value("${thread-pool.send.keep-alive-seconds:60}") private int sendPoolKeepAliveSeconds;
+    @Value("${thread-pool.send.absolute-max-size:8}") private int sendAbsoluteMaxSize;
+
+    @Value("${thread-pool.persist.core-size:1}") private int persistPoolCoreSize;
+    @Value("${thread-pool.persist.max-size:1}") private int persistPoolMaxSize;
+    @Value("${thread-pool.persist.queue-capacity:10}") private int persistPoolQueueCapacity;
+    @Value("${thread-pool.persist.rejection-policy:abort}") private String persistRejectionPolicy;
+    @Value("${thread-pool.persist.keep-alive-seconds:60}") private int persistPoolKeepAliveSeconds;
+    @Value("${thread-pool.persist.absolute-max-size:1}") private int persistAbsoluteMaxSize;
+
+    @Value("${thread-pool.hedge.core-size:2}") private int hedgePoolCoreSize;
+    @Value("${thread-pool.hedge.max-size:16}") private int hedgePoolMaxSize;
+    @Value("${thread-pool.hedge.queue-capacity:0}") private int hedgePoolQueueCapacity;
+    @Value("${thread-pool.hedge.keep-alive-seconds:30}") private int hedgePoolKeepAliveSeconds;
+    @Value("${thread-pool.hedge.absolute-max-size:16}") private int hedgeAbsoluteMaxSize;
+
+    @Value("${thread-pool.poll.core-size:2}") private int pollPoolCoreSize;
+    @Value("${thread-pool.poll.max-size:8}") private int pollPoolMaxSize;
+    @Value("${thread-pool.poll.queue-capacity:100}") private int pollPoolQueueCapacity;
+    @Value("${thread-pool.poll.keep-alive-seconds:60}") private int pollPoolKeepAliveSeconds;
+    @Value("${thread-pool.poll.absolute-max-size:8}") private int pollAbsoluteMaxSize;
+
     @Value("${thread-pool.scheduler.size:3}") private int schedulerPoolSize;
     @Value("${thread-pool.adaptive.enabled:true}") private boolean adaptiveEnabled;
-    @Value("${thread-pool.adaptive.io-high-load-threshold:0.7}") private double ioHighLoadThreshold;
-    @Value("${thread-pool.adaptive.io-low-load-threshold:0.3}") private double ioLowLoadThreshold;
     @Value("${thread-pool.adaptive.cpu-high-load-threshold:0.8}") private double cpuHighLoadThreshold;
     @Value("${thread-pool.adaptive.cpu-low-load-threshold:0.4}") private double cpuLowLoadThreshold;
+    @Value("${thread-pool.adaptive.feed-high-load-threshold:0.7}") private double feedHighLoadThreshold;
+    @Value("${thread-pool.adaptive.feed-low-load-threshold:0.3}") private double feedLowLoadThreshold;
+    @Value("${thread-pool.adaptive.scrape-high-load-threshold:0.7}") private double scrapeHighLoadThreshold;
+    @Value("${thread-pool.adaptive.scrape-low-load-threshold:0.3}") private double scrapeLowLoadThreshold;
+    @Value("${thread-pool.adaptive.send-high-load-threshold:0.9}") private double sendHighLoadThreshold;
+    @Value("${thread-pool.adaptive.send-low-load-threshold:0.3}") private double sendLowLoadThreshold;
+    @Value("${thread-pool.adaptive.persist-high-load-threshold:0.7}") private double persistHighLoadThreshold;
+    @Value("${thread-pool.adaptive.persist-low-load-threshold:0.3}") private double persistLowLoadThreshold;
+    @Value("${thread-pool.adaptive.hedge-high-load-threshold:0.7}") private double hedgeHighLoadThreshold;
+    @Value("${thread-pool.adaptive.hedge-low-load-threshold:0.3}") private double hedgeLowLoadThreshold;
+    @Value("${thread-pool.adaptive.poll-high-load-threshold:0.7}") private double pollHighLoadThreshold;
+    @Value("${thread-pool.adaptive.poll-low-load-threshold:0.3}") private double pollLowLoadThreshold;
     @Value("${thread-pool.adaptive.scale-factor:1.5}") private double scaleFactor;
 
     @Bean(name = "threadPoolMonitor")
@@ -52,24 +100,6 @@ public class ThreadPoolConfig {
         return new ThreadPoolMonitor();
     }
 
-    @Bean(name = "ioTaskExecutor")
-    public ThreadPoolTaskExecutor ioTaskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(ioPoolCoreSize);
-        executor.setMaxPoolSize(ioPoolMaxSize);
-        executor.setQueueCapacity(ioPoolQueueCapacity);
-        executor.setKeepAliveSeconds(ioPoolKeepAliveSeconds);
-        executor.setThreadNamePrefix("io-thread-");
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(60);
-        executor.initialize();
-
-        log.info("Создан пул потоков для IO-операций: core={}, max={}", ioPoolCoreSize, ioPoolMaxSize);
-        threadPoolMonitor().registerPool("ioTaskExecutor", executor);
-        return executor;
-    }
-
     @Bean(name = "cpuTaskExecutor")
     public ThreadPoolTaskExecutor cpuTaskExecutor() {
         int availableProcessors = Runtime.getRuntime().availableProcessors();
@@ -82,16 +112,107 @@ public class ThreadPoolConfig {
         executor.setQueueCapacity(cpuPoolQueueCapacity);
         executor.setKeepAliveSeconds(cpuPoolKeepAliveSeconds);
         executor.setThreadNamePrefix("cpu-thread-");
+        executor.setTaskDecorator(new TraceContextTaskDecorator());
         executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(60);
         executor.initialize();
 
         log.info("Создан пул потоков для CPU-операций: core={}, max={}", actualCoreSize, actualMaxSize);
-        threadPoolMonitor().registerPool("cpuTaskExecutor", executor);
+        threadPoolMonitor().registerPool("cpuTaskExecutor", executor,
+                new PoolLimits(cpuMinSize, Math.min(cpuAbsoluteMaxSize, availableProcessors * 2),
+                        cpuHighLoadThreshold, cpuLowLoadThreshold));
+        return executor;
+    }
+
+    @Bean(name = "feedTaskExecutor")
+    public ThreadPoolTaskExecutor feedTaskExecutor() {
+        return createWorkloadPool("feedTaskExecutor", "feed-thread-",
+                feedPoolCoreSize, feedPoolMaxSize, feedPoolQueueCapacity,
+                feedPoolKeepAliveSeconds, feedRejectionPolicy,
+                new PoolLimits(feedPoolCoreSize, feedAbsoluteMaxSize, feedHighLoadThreshold, feedLowLoadThreshold));
+    }
+
+    @Bean(name = "scrapeTaskExecutor")
+    public ThreadPoolTaskExecutor scrapeTaskExecutor() {
+        return createWorkloadPool("scrapeTaskExecutor", "scrape-thread-",
+                scrapePoolCoreSize, scrapePoolMaxSize, scrapePoolQueueCapacity,
+                scrapePoolKeepAliveSeconds, scrapeRejectionPolicy,
+                new PoolLimits(scrapePoolCoreSize, scrapeAbsoluteMaxSize,
+                        scrapeHighLoadThreshold, scrapeLowLoadThreshold));
+    }
+
+    @Bean(name = "sendTaskExecutor")
+    public ThreadPoolTaskExecutor sendTaskExecutor() {
+        return createWorkloadPool("sendTaskExecutor", "send-thread-",
+                sendPoolCoreSize, sendPoolMaxSize, sendPoolQueueCapacity,
+                sendPoolKeepAliveSeconds, sendRejectionPolicy,
+                new PoolLimits(sendPoolCoreSize, sendAbsoluteMaxSize, sendHighLoadThreshold, sendLowLoadThreshold));
+    }
+
+    @Bean(name = "persistTaskExecutor")
+    public ThreadPoolTaskExecutor persistTaskExecutor() {
+        return createWorkloadPool("persistTaskExecutor", "persist-thread-",
+                persistPoolCoreSize, persistPoolMaxSize, persistPoolQueueCapacity,
+                persistPoolKeepAliveSeconds, persistRejectionPolicy,
+                new PoolLimits(persistPoolCoreSize, persistAbsoluteMaxSize,
+                        persistHighLoadThreshold, persistLowLoadThreshold));
+    }
+
+    /**
+     * Попытки с хеджированием. Политика всегда abort: при переполнении запрос уходит без хеджа
+     * на пул своей нагрузки, а не выполняется в вызывающем потоке.
+     */
+    @Bean(name = "hedgeTaskExecutor")
+    public ThreadPoolTaskExecutor hedgeTaskExecutor() {
+        return createWorkloadPool("hedgeTaskExecutor", "hedge-thread-",
+                hedgePoolCoreSize, hedgePoolMaxSize, hedgePoolQueueCapacity,
+                hedgePoolKeepAliveSeconds, "abort",
+                new PoolLimits(hedgePoolCoreSize, hedgeAbsoluteMaxSize, hedgeHighLoadThreshold, hedgeLowLoadThreshold));
+    }
+
+    /**
+     * Циклы адаптивного опроса лент. Политика всегда abort: переполненный пул откладывает опрос,
+     * а не выполняет цикл в потоке планировщика.
+     */
+    @Bean(name = "pollTaskExecutor")
+    public ThreadPoolTaskExecutor pollTaskExecutor() {
+        return createWorkloadPool("pollTaskExecutor", "poll-thread-",
+                pollPoolCoreSize, pollPoolMaxSize, pollPoolQueueCapacity,
+                pollPoolKeepAliveSeconds, "abort",
+                new PoolLimits(pollPoolCoreSize, pollAbsoluteMaxSize, pollHighLoadThreshold, pollLowLoadThreshold));
+    }
+
+    private ThreadPoolTaskExecutor createWorkloadPool(String name, String threadNamePrefix, int coreSize, int maxSize,
+                                                      int queueCapacity, int keepAliveSeconds, String rejectionPolicy,
+                                                      PoolLimits limits) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(keepAliveSeconds);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setTaskDecorator(new TraceContextTaskDecorator());
+        executor.setRejectedExecutionHandler(createRejectionHandler(rejectionPolicy));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        log.info("Создан пул потоков {}: core={}, max={}, очередь={}, при переполнении={}",
+                name, coreSize, maxSize, queueCapacity, rejectionPolicy);
+        threadPoolMonitor().registerPool(name, executor, limits);
         return executor;
     }
 
+    private RejectedExecutionHandler createRejectionHandler(String policy) {
+        return switch (policy.toLowerCase()) {
+            case "caller-runs" -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case "discard" -> new ThreadPoolExecutor.DiscardPolicy();
+            case "discard-oldest" -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            default -> new ThreadPoolExecutor.AbortPolicy();
+        };
+    }
+
     @Bean(name = "schedulerExecutor")
     public ScheduledExecutorService schedulerExecutor() {
         return Executors.newScheduledThreadPool(schedulerPoolSize, createThreadFactory("scheduler-", true));
@@ -131,79 +252,50 @@ public class ThreadPoolConfig {
     public void adjustPoolSizes() {
         if (!adaptiveEnabled) return;
 
-        adjustIoPoolSize();
-        adjustCpuPoolSize();
+        threadPoolMonitor().getPoolLimits().forEach(this::adjustPoolSize);
     }
 
-    private void adjustIoPoolSize() {
-        ThreadPoolStats stats = threadPoolMonitor().getStats().get("ioTaskExecutor");
+    private void adjustPoolSize(String name, PoolLimits limits) {
+        if (!(threadPoolMonitor().getMonitoredPools().get(name) instanceof ThreadPoolTaskExecutor executor)) return;
+        ThreadPoolStats stats = threadPoolMonitor().getStats().get(name);
         if (stats == null) return;
 
         double utilizationRate = calculateUtilizationRate(stats);
         double queueUtilizationRate = calculateQueueUtilizationRate(stats);
 
-        ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) threadPoolMonitor().getMonitoredPools().get("ioTaskExecutor");
         int currentCoreSize = executor.getCorePoolSize();
         int currentMaxSize = executor.getMaxPoolSize();
 
-        if (utilizationRate > ioHighLoadThreshold || queueUtilizationRate > 0.5) {
-            int newCoreSize = Math.min((int)(currentCoreSize * scaleFactor), ioAbsoluteMaxSize);
-            int newMaxSize = Math.min((int)(currentMaxSize * scaleFactor), ioAbsoluteMaxSize);
+        if (utilizationRate > limits.getHighLoadThreshold() || queueUtilizationRate > 0.5) {
+            int newCoreSize = Math.min((int)(currentCoreSize * scaleFactor), limits.getAbsoluteMaxSize());
+            int newMaxSize = Math.min((int)(currentMaxSize * scaleFactor), limits.getAbsoluteMaxSize());
 
             if (newCoreSize > currentCoreSize || newMaxSize > currentMaxSize) {
-                log.info("Увеличиваем IO пул: core {} -> {}, max {} -> {}",
-                        currentCoreSize, newCoreSize, currentMaxSize, newMaxSize);
+                log.info("Увеличиваем пул {}: core {} -> {}, max {} -> {}",
+                        name, currentCoreSize, newCoreSize, currentMaxSize, newMaxSize);
                 updatePoolSize(executor, newCoreSize, newMaxSize);
             }
-        } else if (utilizationRate < ioLowLoadThreshold && queueUtilizationRate < 0.1) {
-            int newCoreSize = Math.max((int)(currentCoreSize / scaleFactor), ioMinSize);
+        } else if (utilizationRate < limits.getLowLoadThreshold() && queueUtilizationRate < 0.1) {
+            int newCoreSize = Math.max((int)(currentCoreSize / scaleFactor), limits.getMinSize());
             int newMaxSize = Math.max((int)(currentMaxSize / scaleFactor), (int)(newCoreSize * 1.5));
 
             if (newCoreSize < currentCoreSize && newMaxSize < currentMaxSize) {
-                log.info("Уменьшаем IO пул: core {} -> {}, max {} -> {}",
-                        currentCoreSize, newCoreSize, currentMaxSize, newMaxSize);
-                updatePoolSize(executor, newCoreSize, newMaxSize);
-            }
-        }
-    }
-
-    private void adjustCpuPoolSize() {
-        ThreadPoolStats stats = threadPoolMonitor().getStats().get("cpuTaskExecutor");
-        if (stats == null) return;
-
-        double utilizationRate = calculateUtilizationRate(stats);
-        double queueUtilizationRate = calculateQueueUtilizationRate(stats);
-
-        ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) threadPoolMonitor().getMonitoredPools().get("cpuTaskExecutor");
-        int currentCoreSize = executor.getCorePoolSize();
-        int currentMaxSize = executor.getMaxPoolSize();
-        int availableProcessors = Runtime.getRuntime().availableProcessors();
-        int absoluteMaxSize = Math.min(cpuAbsoluteMaxSize, availableProcessors * 2);
-
-        if (utilizationRate > cpuHighLoadThreshold || queueUtilizationRate > 0.5) {
-            int newCoreSize = Math.min((int)(currentCoreSize * scaleFactor), absoluteMaxSize);
-            int newMaxSize = Math.min((int)(currentMaxSize * scaleFactor), absoluteMaxSize);
-
-            if (newCoreSize > currentCoreSize || newMaxSize > currentMaxSize) {
-                log.info("Увеличиваем CPU пул: core {} -> {}, max {} -> {}",
-                        currentCoreSize, newCoreSize, currentMaxSize, newMaxSize);
-                updatePoolSize(executor, newCoreSize, newMaxSize);
-            }
-        } else if (utilizationRate < cpuLowLoadThreshold && queueUtilizationRate < 0.1) {
-            int newCoreSize = Math.max((int)(currentCoreSize / scaleFactor), cpuMinSize);
-            int newMaxSize = Math.max((int)(currentMaxSize / scaleFactor), (int)(newCoreSize * 1.5));
-
-            if (newCoreSize < currentCoreSize && newMaxSize < currentMaxSize) {
-                log.info("Уменьшаем CPU пул: core {} -> {}, max {} -> {}",
-                        currentCoreSize, newCoreSize, currentMaxSize, newMaxSize);
+                log.info("Уменьшаем пул {}: core {} -> {}, max {} -> {}",
+                        name, currentCoreSize, newCoreSize, currentMaxSize, newMaxSize);
                 updatePoolSize(executor, newCoreSize, newMaxSize);
             }
         }
     }
 
     private void updatePoolSize(ThreadPoolTaskExecutor executor, int coreSize, int maxSize) {
-        executor.setCorePoolSize(coreSize);
-        executor.setMaxPoolSize(maxSize);
+        // При уменьшении сначала core, при увеличении сначала max, иначе пул отклонит core > max
+        if (coreSize > executor.getMaxPoolSize()) {
+            executor.setMaxPoolSize(maxSize);
+            executor.setCorePoolSize(coreSize);
+        } else {
+            executor.setCorePoolSize(coreSize);
+            executor.setMaxPoolSize(maxSize);
+        }
     }
 
     private double calculateUtilizationRate(ThreadPoolStats stats) {
@@ -213,36 +305,24 @@ public class ThreadPoolConfig {
     private double calculateQueueUtilizationRate(ThreadPoolStats stats) {
         if (stats.getQueueSize() == 0) return 0.0;
 
-        ThreadPoolExecutor executor = null;
-        if ("ioTaskExecutor".equals(getExecutorName(stats))) {
-            executor = ((ThreadPoolTaskExecutor)threadPoolMonitor().getMonitoredPools().get("ioTaskExecutor")).getThreadPoolExecutor();
-        } else if ("cpuTaskExecutor".equals(getExecutorName(stats))) {
-            executor = ((ThreadPoolTaskExecutor)threadPoolMonitor().getMonitoredPools().get("cpuTaskExecutor")).getThreadPoolExecutor();
-        }
-
-        if (executor != null) {
-            int queueCapacity = executor.getQueue().remainingCapacity() + stats.getQueueSize();
-            return (double) stats.getQueueSize() / queueCapacity;
-        }
-        return 0.0;
-    }
-
-    private String getExecutorName(ThreadPoolStats stats) {
-        Map<String, ThreadPoolStats> allStats = threadPoolMonitor().getStats();
-        for (Map.Entry<String, ThreadPoolStats> entry : allStats.entrySet()) {
-            if (stats == entry.getValue()) return entry.getKey();
-        }
-        return "unknown";
+        int queueCapacity = stats.getQueueRemainingCapacity() + stats.getQueueSize();
+        return (double) stats.getQueueSize() / queueCapacity;
     }
 
     @Data
     public static class ThreadPoolMonitor {
         private final Map<String, Executor> monitoredPools = new ConcurrentHashMap<>();
+        private final Map<String, PoolLimits> poolLimits = new ConcurrentHashMap<>();
 
         public void registerPool(String name, Executor pool) {
             monitoredPools.put(name, pool);
         }
 
+        public void registerPool(String name, Executor pool, PoolLimits limits) {
+            monitoredPools.put(name, pool);
+            poolLimits.put(name, limits);
+        }
+
         public Map<String, ThreadPoolStats> getStats() {
             Map<String, ThreadPoolStats> stats = new ConcurrentHashMap<>();
 
@@ -254,6 +334,7 @@ public class ThreadPoolConfig {
                     poolStats.setCorePoolSize(pool.getCorePoolSize());
                     poolStats.setMaxPoolSize(pool.getMaxPoolSize());
                     poolStats.setQueueSize(pool.getThreadPoolExecutor().getQueue().size());
+                    poolStats.setQueueRemainingCapacity(pool.getThreadPoolExecutor().getQueue().remainingCapacity());
                     poolStats.setCompletedTaskCount(pool.getThreadPoolExecutor().getCompletedTaskCount());
                     poolStats.setTaskCount(pool.getThreadPoolExecutor().getTaskCount());
                     stats.put(name, poolStats);
@@ -270,7 +351,17 @@ public class ThreadPoolConfig {
         private int corePoolSize;
         private int maxPoolSize;
         private int queueSize;
+        private int queueRemainingCapacity;
         private long completedTaskCount;
         private long taskCount;
     }
+
+    @Data
+    @AllArgsConstructor
+    public static class PoolLimits {
+        private int minSize;
+        private int absoluteMaxSize;
+        private double highLoadThreshold;
+        private double lowLoadThreshold;
+    }
 }
\ No newline at end of file
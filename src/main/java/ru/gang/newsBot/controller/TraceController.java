@@ -0,0 +1,61 @@
+package ru.gang.newsBot.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.gang.newsBot.tracing.CycleTrace;
+import ru.gang.newsBot.tracing.Span;
+import ru.gang.newsBot.tracing.Tracer;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/traces")
+@RequiredArgsConstructor
+public class TraceController {
+    private final Tracer tracer;
+
+    public record SpanView(long id, long parentId, String name, String thread, long offsetMs,
+                           long durationMs, boolean finished, String status, Map<String, String> attributes) {
+    }
+
+    public record CycleView(String traceId, Instant startedAt, long durationMs, int spanCount, long droppedSpans,
+                            List<SpanView> spans) {
+    }
+
+    @GetMapping
+    public List<CycleView> recentCycles() {
+        return tracer.getRecentCycles().stream()
+                .sorted(Comparator.comparingLong(CycleTrace::getStartedAtMillis).reversed())
+                .map(this::toView)
+                .toList();
+    }
+
+    @GetMapping("/{traceId}")
+    public ResponseEntity<CycleView> cycle(@PathVariable String traceId) {
+        return tracer.getRecentCycles().stream()
+                .filter(trace -> trace.getTraceId().equals(traceId))
+                .findFirst()
+                .map(trace -> ResponseEntity.ok(toView(trace)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private CycleView toView(CycleTrace trace) {
+        List<SpanView> spans = trace.getSpans().stream()
+                .sorted(Comparator.comparingLong(Span::offsetMillis))
+                .map(span -> new SpanView(span.getId(), span.getParentId(), span.getName(), span.getThreadName(),
+                        span.offsetMillis(), span.durationMillis(), span.isEnded(), span.getStatus(),
+                        Map.copyOf(span.getAttributes())))
+                .toList();
+
+        Span root = trace.getRoot();
+        return new CycleView(trace.getTraceId(), Instant.ofEpochMilli(trace.getStartedAtMillis()),
+                root != null ? root.durationMillis() : 0, spans.size(), trace.getDroppedSpans().get(), spans);
+    }
+}
@@ -0,0 +1,14 @@
+package ru.gang.newsBot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ru.gang.newsBot.ArticleExtract")
+@Label("Article Extract")
+@Description("Извлечение текста статьи из загруженной страницы")
+public class ArticleExtractEvent extends NewsEvent {
+    @Label("Text Length")
+    @Description("Длина извлечённого текста в символах")
+    public int chars;
+}
@@ -0,0 +1,13 @@
+package ru.gang.newsBot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ru.gang.newsBot.ArticleFetch")
+@Label("Article Fetch")
+@Description("Загрузка страницы статьи для описания или изображения")
+public class ArticleFetchEvent extends NewsEvent {
+    @Label("Purpose")
+    public String purpose;
+}
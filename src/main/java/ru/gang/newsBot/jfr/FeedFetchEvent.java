@@ -0,0 +1,11 @@
+package ru.gang.newsBot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ru.gang.newsBot.FeedFetch")
+@Label("Feed Fetch")
+@Description("Загрузка RSS-ленты вместе с повторами, без разбора (его фиксирует Feed Parse)")
+public class FeedFetchEvent extends NewsEvent {
+}
@@ -0,0 +1,16 @@
+package ru.gang.newsBot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ru.gang.newsBot.FeedParse")
+@Label("Feed Parse")
+@Description("Разбор RSS-ленты, отбор элементов по категориям и запуск обогащения")
+public class FeedParseEvent extends NewsEvent {
+    @Label("Items")
+    public int items;
+
+    @Label("Selected")
+    public int selected;
+}
@@ -0,0 +1,13 @@
+package ru.gang.newsBot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ru.gang.newsBot.HttpFetch")
+@Label("HTTP Fetch")
+@Description("Одна попытка HTTP-запроса к источнику")
+public class HttpFetchEvent extends NewsEvent {
+    @Label("Status Code")
+    public int statusCode;
+}
@@ -0,0 +1,11 @@
+package ru.gang.newsBot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ru.gang.newsBot.ImageRetry")
+@Label("Image Attempt")
+@Description("Попытка получить изображение статьи; outcome — valid, default, unexpected, missing или error")
+public class ImageRetryEvent extends NewsEvent {
+}
@@ -0,0 +1,94 @@
+package ru.gang.newsBot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Общие поля событий JFR бота. Событие начинается через {@link #begin()} и фиксируется
+ * через {@link #finish(String)}; при выключенном событии или ниже порога поля не заполняются.
+ */
+@Category("News Bot")
+@StackTrace(false)
+public abstract class NewsEvent extends Event {
+
+    @Label("Host")
+    public String host;
+
+    @Label("Category")
+    public String category;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Attempt")
+    public int attempt = 1;
+
+    @Label("Outcome")
+    @Description("ok, error, timeout, throttled, skipped или результат, специфичный для события")
+    public String outcome;
+
+    public NewsEvent url(String url) {
+        if (isEnabled()) {
+            this.host = hostOf(url);
+        }
+        return this;
+    }
+
+    public NewsEvent category(String category) {
+        if (isEnabled()) {
+            this.category = category;
+        }
+        return this;
+    }
+
+    public NewsEvent attempt(int attempt) {
+        this.attempt = attempt;
+        return this;
+    }
+
+    public void finish(String outcome) {
+        finish(outcome, 0);
+    }
+
+    public void finish(String outcome, long bytes) {
+        // Длительность для порога считается только после end()
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+
+    public static String hostOf(String url) {
+        if (url == null) return null;
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    public static String outcomeOf(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException || cause instanceof SocketTimeoutException) {
+            return "timeout";
+        }
+        if (cause instanceof CancellationException || cause instanceof InterruptedException) {
+            return "cancelled";
+        }
+        return "error";
+    }
+}
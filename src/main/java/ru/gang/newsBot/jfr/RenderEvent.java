@@ -0,0 +1,14 @@
+package ru.gang.newsBot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ru.gang.newsBot.Render")
+@Label("Render Photo Message")
+@Description("Сборка SendPhoto")
+public class RenderEvent extends NewsEvent {
+    @Label("Caption Length")
+    @Description("Длина подписи в символах, лимит Telegram — 1024")
+    public int chars;
+}
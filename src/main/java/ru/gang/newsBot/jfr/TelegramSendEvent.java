@@ -0,0 +1,23 @@
+package ru.gang.newsBot.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("ru.gang.newsBot.TelegramSend")
+@Label("Telegram Send")
+@Description("Отправка в Bot API от запроса до ответа; фиксируется в потоке, получившем ответ")
+public class TelegramSendEvent extends NewsEvent {
+    @Label("Method")
+    public String method;
+
+    @Label("Chat Id")
+    public String chatId;
+
+    @Label("Items")
+    public int items = 1;
+
+    @Label("Caption Length")
+    @Description("Длина подписи в символах")
+    public int chars;
+}
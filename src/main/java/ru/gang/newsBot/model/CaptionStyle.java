@@ -0,0 +1,8 @@
+package ru.gang.newsBot.model;
+
+public enum CaptionStyle {
+    // Заголовок, описание со ссылкой «читать полностью» и ссылка на подписку
+    FULL,
+    // Только заголовок со ссылкой на статью и ссылка на подписку
+    HEADLINE
+}
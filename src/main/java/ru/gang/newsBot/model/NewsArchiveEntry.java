@@ -0,0 +1,82 @@
+package ru.gang.newsBot.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Строка архива новостей. Схема для PostgreSQL - db/news_archive.sql.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "news_archive",
+        indexes = {
+                @Index(name = "ux_news_archive_url", columnList = "url", unique = true),
+                @Index(name = "ix_news_archive_guid", columnList = "guid"),
+                @Index(name = "ix_news_archive_category_posted", columnList = "category, posted_at"),
+                @Index(name = "ix_news_archive_feed_pub_date", columnList = "feed, pub_date")
+        })
+public class NewsArchiveEntry {
+    public static final int FEED_LENGTH = 512;
+    public static final int CATEGORY_LENGTH = 64;
+    public static final int URL_LENGTH = 1024;
+    public static final int GUID_LENGTH = 1024;
+    public static final int TITLE_LENGTH = 1024;
+    public static final int IMAGE_URL_LENGTH = 1024;
+
+    public enum PostStatus {
+        INGESTED,
+        POSTED,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "news_archive_seq")
+    @SequenceGenerator(name = "news_archive_seq", sequenceName = "news_archive_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "feed", length = FEED_LENGTH)
+    private String feed;
+
+    @Column(name = "category", length = CATEGORY_LENGTH)
+    private String category;
+
+    @Column(name = "url", nullable = false, length = URL_LENGTH)
+    private String url;
+
+    @Column(name = "guid", length = GUID_LENGTH)
+    private String guid;
+
+    @Column(name = "title", length = TITLE_LENGTH)
+    private String title;
+
+    @Column(name = "pub_date")
+    private Instant pubDate;
+
+    @Column(name = "image_url", length = IMAGE_URL_LENGTH)
+    private String imageUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private PostStatus status;
+
+    @Column(name = "ingested_at")
+    private Instant ingestedAt;
+
+    @Column(name = "posted_at")
+    private Instant postedAt;
+
+    @Column(name = "enrich_duration_ms")
+    private Long enrichDurationMs;
+
+    @Column(name = "send_duration_ms")
+    private Long sendDurationMs;
+
+    @Column(name = "attempts")
+    private int attempts;
+}
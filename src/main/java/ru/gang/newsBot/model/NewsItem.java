@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -16,4 +18,11 @@ public class NewsItem {
     private String imageUrl;
     private String description;
     private String category;
-}
\ No newline at end of file
+    private String feedUrl;
+    private String guid;
+    private Instant pubDate;
+
+    public boolean hasImage() {
+        return imageUrl != null && !imageUrl.isBlank();
+    }
+}
@@ -0,0 +1,25 @@
+package ru.gang.newsBot.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.gang.newsBot.model.NewsArchiveEntry;
+import ru.gang.newsBot.model.NewsArchiveEntry.PostStatus;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NewsArchiveRepository extends JpaRepository<NewsArchiveEntry, Long> {
+
+    @Query("select count(e) > 0 from NewsArchiveEntry e where e.status = :status and (e.url = :url or e.guid = :guid)")
+    boolean existsByUrlOrGuidAndStatus(@Param("url") String url, @Param("guid") String guid,
+                                       @Param("status") PostStatus status);
+
+    List<NewsArchiveEntry> findByUrlIn(Collection<String> urls);
+
+    List<NewsArchiveEntry> findByCategoryAndStatusAndPostedAtAfterOrderByPostedAtDesc(
+            String category, PostStatus status, Instant postedAfter);
+}
@@ -0,0 +1,104 @@
+package ru.gang.newsBot.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.gang.newsBot.bot.NewsBot;
+import ru.gang.newsBot.config.AdaptivePollingConfig;
+import ru.gang.newsBot.config.RssConfig;
+import ru.gang.newsBot.service.FeedCadenceTracker;
+import ru.gang.newsBot.util.AsyncUtils;
+import ru.gang.newsBot.util.Workload;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Опрашивает каждую ленту со своим интервалом, подстраиваясь под частоту публикаций.
+ * Включается через news.fetch.adaptive.enabled и заменяет фиксированный опрос {@link ScheduledNewsFetcher}.
+ */
+@Slf4j
+@Component
+public class AdaptiveFeedScheduler {
+    private final NewsBot newsBot;
+    private final RssConfig rssConfig;
+    private final AdaptivePollingConfig config;
+    private final FeedCadenceTracker feedCadenceTracker;
+    private final AsyncUtils asyncUtils;
+    private final ScheduledExecutorService schedulerExecutor;
+
+    private final Map<String, ScheduledFuture<?>> scheduledPolls = new ConcurrentHashMap<>();
+    private volatile boolean stopped;
+
+    public AdaptiveFeedScheduler(
+            NewsBot newsBot,
+            RssConfig rssConfig,
+            AdaptivePollingConfig config,
+            FeedCadenceTracker feedCadenceTracker,
+            AsyncUtils asyncUtils,
+            @Qualifier("schedulerExecutor") ScheduledExecutorService schedulerExecutor) {
+        this.newsBot = newsBot;
+        this.rssConfig = rssConfig;
+        this.config = config;
+        this.feedCadenceTracker = feedCadenceTracker;
+        this.asyncUtils = asyncUtils;
+        this.schedulerExecutor = schedulerExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isEnabled()) return;
+
+        for (String feedUrl : rssConfig.getFeeds()) {
+            // Разносим первые опросы, чтобы все ленты не стартовали одновременно
+            long initialDelay = ThreadLocalRandom.current().nextLong(config.getMinIntervalMs() + 1);
+            schedulePoll(feedUrl, initialDelay);
+        }
+        log.info("Адаптивный опрос запущен для {} лент", rssConfig.getFeeds().size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        scheduledPolls.values().forEach(future -> future.cancel(false));
+        scheduledPolls.clear();
+    }
+
+    private void schedulePoll(String feedUrl, long delayMs) {
+        if (stopped) return;
+
+        scheduledPolls.put(feedUrl, schedulerExecutor.schedule(() -> poll(feedUrl), delayMs, TimeUnit.MILLISECONDS));
+        log.debug("Следующий опрос {} через {} с", feedUrl, delayMs / 1000);
+    }
+
+    private void poll(String feedUrl) {
+        // Поток планировщика только отсчитывает время, сам цикл выполняется в пуле опроса
+        CompletableFuture<CompletableFuture<Void>> started;
+        try {
+            started = CompletableFuture.supplyAsync(() -> newsBot.fetchAndPostNews(List.of(feedUrl)),
+                    asyncUtils.getExecutor(Workload.POLL));
+        } catch (RejectedExecutionException e) {
+            long retryMs = config.getBusyRetryMs() + ThreadLocalRandom.current().nextLong(config.getBusyRetryMs() + 1);
+            log.warn("Пул опроса переполнен, опрос {} отложен на {} мс", feedUrl, retryMs);
+            schedulePoll(feedUrl, retryMs);
+            return;
+        }
+        started.thenCompose(cycle -> cycle)
+                .whenComplete((v, ex) -> {
+                    if (ex != null) {
+                        log.error("Ошибка при опросе ленты {}: {}", feedUrl, ex.getMessage(), ex);
+                    }
+                    schedulePoll(feedUrl, feedCadenceTracker.nextPollDelayMs(feedUrl));
+                });
+    }
+}
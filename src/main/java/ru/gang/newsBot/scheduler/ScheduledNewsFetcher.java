@@ -2,19 +2,27 @@ package ru.gang.newsBot.scheduler;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import ru.gang.newsBot.bot.NewsBot;
 
 @Slf4j
 @Component
+@Lazy(false)
 @RequiredArgsConstructor
 public class ScheduledNewsFetcher {
 
     private final NewsBot newsBot;
 
+    @Value("${news.fetch.enabled:true}") private boolean enabled;
+    @Value("${news.fetch.adaptive.enabled:false}") private boolean adaptive;
+
     @Scheduled(fixedRateString = "${news.fetch.interval}")
     public void fetchNewsPeriodically() {
+        if (!enabled || adaptive) return;
+
         log.info("Запуск планировщика обновления новостей");
         newsBot.fetchAndPostNews();
         log.info("Плановое обновление новостей завершено");
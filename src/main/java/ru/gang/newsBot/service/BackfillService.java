@@ -0,0 +1,228 @@
+package ru.gang.newsBot.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import ru.gang.newsBot.bot.NewsBot;
+import ru.gang.newsBot.config.BackfillConfig;
+import ru.gang.newsBot.config.NewsChannelConfig;
+import ru.gang.newsBot.model.NewsItem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Загрузка архивных RSS-файлов с диска: разбор параллельно на всех ядрах через fork/join,
+ * дедупликация с отправленными и архивом, по желанию — публикация с ограничением скорости.
+ * Запускается при заданном news.backfill.path в отдельном потоке после старта приложения;
+ * разовый прогон с выходом удобнее запускать с профилем backfill.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BackfillService {
+    private final BackfillConfig backfillConfig;
+    private final RssParserService rssParserService;
+    private final NewsArchiveService newsArchiveService;
+    private final ConfigurableApplicationContext context;
+    private final NewsBot newsBot;
+    private final DispatchQueue dispatchQueue;
+    private final SentNewsRegistry sentNewsRegistry;
+
+    private static final int FILES_PER_TASK = 1;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (backfillConfig.getPath() == null || backfillConfig.getPath().isBlank()) return;
+
+        Thread thread = new Thread(this::runBackfill, "backfill");
+        thread.setUncaughtExceptionHandler((t, e) -> log.error("Ошибка загрузки архива: {}", e.getMessage(), e));
+        thread.start();
+    }
+
+    private void runBackfill() {
+        int exitCode = 0;
+        try {
+            backfill(Paths.get(backfillConfig.getPath()));
+        } catch (Exception e) {
+            exitCode = 1;
+            log.error("Ошибка загрузки архива из {}: {}", backfillConfig.getPath(), e.getMessage(), e);
+        }
+
+        if (backfillConfig.isExitOnComplete()) {
+            log.info("Загрузка архива завершена, останавливаем приложение");
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+
+    public void backfill(Path root) throws IOException {
+        long startedAt = System.nanoTime();
+        List<Path> files = listFeedFiles(root);
+        log.info("Загрузка архива: найдено {} файлов в {}", files.size(), root);
+
+        AtomicLong bytesRead = new AtomicLong();
+        ForkJoinPool pool = new ForkJoinPool(backfillConfig.getParallelism());
+        List<NewsItem> parsed;
+        try {
+            parsed = pool.invoke(new ParseTask(files, bytesRead));
+        } finally {
+            pool.shutdown();
+        }
+        long parsedAt = System.nanoTime();
+
+        Set<String> targetCategories = new HashSet<>(NewsChannelConfig.CATEGORY_TRANSLATIONS.values());
+        Map<String, NewsItem> unique = new LinkedHashMap<>();
+        parsed.stream()
+                .filter(item -> item.getUrl() != null && !item.getUrl().isEmpty())
+                .filter(item -> targetCategories.contains(item.getCategory()))
+                .sorted(Comparator.comparing(NewsItem::getPubDate, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(item -> unique.putIfAbsent(item.getUrl(), item));
+
+        Set<String> alreadyPosted = newsArchiveService.findPostedUrls(unique.keySet());
+        List<NewsItem> fresh = unique.values().stream()
+                .filter(item -> !sentNewsRegistry.contains(item.getUrl()))
+                .filter(item -> !alreadyPosted.contains(item.getUrl()))
+                .collect(Collectors.toList());
+
+        int posted = 0;
+        if (backfillConfig.isPost()) {
+            // Неотправленные при публикации не помечаем: отложенные по 429 уйдут обычной очередью
+            posted = postThrottled(fresh);
+        } else {
+            sentNewsRegistry.markSent(fresh.stream().map(NewsItem::getUrl).collect(Collectors.toList()));
+        }
+        archiveIngested(fresh);
+
+        long finishedAt = System.nanoTime();
+        double parseSeconds = Math.max((parsedAt - startedAt) / 1e9, 1e-3);
+        double totalSeconds = Math.max((finishedAt - startedAt) / 1e9, 1e-3);
+        log.info("Загрузка архива завершена: файлов={}, {} КБ, элементов={}, уникальных={}, уже известных={}, новых={}, опубликовано={}",
+                files.size(), bytesRead.get() / 1024, parsed.size(), unique.size(),
+                unique.size() - fresh.size(), fresh.size(), posted);
+        log.info("Производительность: разбор {} с ({} элементов/с, {} МБ/с), всего {} с ({} элементов/с)",
+                String.format("%.2f", parseSeconds),
+                String.format("%.0f", parsed.size() / parseSeconds),
+                String.format("%.1f", bytesRead.get() / 1048576.0 / parseSeconds),
+                String.format("%.2f", totalSeconds),
+                String.format("%.0f", parsed.size() / totalSeconds));
+    }
+
+    private List<Path> listFeedFiles(Path root) throws IOException {
+        if (Files.isRegularFile(root)) return List.of(root);
+
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> {
+                        String name = path.getFileName().toString().toLowerCase();
+                        return name.endsWith(".xml") || name.endsWith(".rss");
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private int postThrottled(List<NewsItem> items) {
+        long intervalMs = 60000L / Math.max(1, backfillConfig.getPostsPerMinute());
+        int posted = 0;
+
+        for (NewsItem item : items) {
+            if (item.getImageUrl() == null) {
+                log.debug("Пропуск публикации без изображения: {}", item.getTitle());
+                continue;
+            }
+            try {
+                while (dispatchQueue.isPaused()) {
+                    Thread.sleep(1000);
+                }
+                long sendStartedAt = System.currentTimeMillis();
+                if (newsBot.postNow(item)) {
+                    posted++;
+                }
+                Thread.sleep(Math.max(0, intervalMs - (System.currentTimeMillis() - sendStartedAt)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Публикация архива прервана после {} новостей", posted);
+                break;
+            }
+        }
+        return posted;
+    }
+
+    private void archiveIngested(List<NewsItem> items) {
+        // Пишем пачками с синхронным сбросом, чтобы не переполнить очередь архива
+        int inBatch = 0;
+        for (NewsItem item : items) {
+            newsArchiveService.recordIngested(item, 0);
+            if (++inBatch >= 500) {
+                newsArchiveService.flush();
+                inBatch = 0;
+            }
+        }
+        newsArchiveService.flush();
+    }
+
+    private class ParseTask extends RecursiveTask<List<NewsItem>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Path> files;
+        private final AtomicLong bytesRead;
+
+        ParseTask(List<Path> files, AtomicLong bytesRead) {
+            this.files = files;
+            this.bytesRead = bytesRead;
+        }
+
+        @Override
+        protected List<NewsItem> compute() {
+            if (files.size() <= FILES_PER_TASK) {
+                List<NewsItem> items = new ArrayList<>();
+                files.forEach(file -> items.addAll(parseFile(file)));
+                return items;
+            }
+
+            int middle = files.size() / 2;
+            ParseTask left = new ParseTask(files.subList(0, middle), bytesRead);
+            ParseTask right = new ParseTask(files.subList(middle, files.size()), bytesRead);
+            left.fork();
+            List<NewsItem> items = new ArrayList<>(right.compute());
+            items.addAll(left.join());
+            return items;
+        }
+
+        private List<NewsItem> parseFile(Path file) {
+            try (InputStream in = Files.newInputStream(file)) {
+                bytesRead.addAndGet(Files.size(file));
+                Document document = Jsoup.parse(in, "UTF-8", file.toUri().toString(), Parser.xmlParser());
+                String feedUrl = document.select("channel > link").text();
+                if (feedUrl.isEmpty()) feedUrl = file.toUri().toString();
+
+                List<NewsItem> items = new ArrayList<>();
+                for (Element item : document.select("item")) {
+                    items.add(rssParserService.parseArchivedItem(item, feedUrl));
+                }
+                return items;
+            } catch (IOException e) {
+                log.error("Ошибка при чтении архивного файла {}: {}", file, e.getMessage());
+                return List.of();
+            }
+        }
+    }
+}
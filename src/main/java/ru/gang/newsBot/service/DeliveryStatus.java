@@ -0,0 +1,13 @@
+package ru.gang.newsBot.service;
+
+/**
+ * Состояние доставки новости дополнительным получателям (арендаторам) помимо основного бота.
+ */
+public interface DeliveryStatus {
+
+    /**
+     * Больше некому отправлять: все, кто принимает категорию, новость уже отправили
+     * или окончательно от неё отказались. Без получателей — да.
+     */
+    boolean postedForAll(String category, String url);
+}
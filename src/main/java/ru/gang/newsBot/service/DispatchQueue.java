@@ -0,0 +1,158 @@
+package ru.gang.newsBot.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import ru.gang.newsBot.config.DispatchConfig;
+import ru.gang.newsBot.model.NewsItem;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Очередь отправки: новости уходят в порядке приоритета категории, ленты и свежести.
+ * То, что не помещается в лимиты Telegram, откладывается до следующего цикла,
+ * а отложенная новость заменяется более свежей из той же категории того же канала.
+ * В режиме альбомов копятся все новости канала: они придерживаются, пока не наберётся
+ * полный альбом или не истечёт окно mediaGroupLingerMs с первой отложенной новости канала.
+ */
+@Slf4j
+@Service
+public class DispatchQueue {
+    private final DispatchConfig config;
+    private final boolean albums;
+
+    private final Map<String, DispatchItem> pending = new HashMap<>();
+    private final Map<String, Deque<Instant>> sentPerChat = new HashMap<>();
+    private final Map<String, Instant> heldSince = new HashMap<>();
+    private Instant pausedUntil = Instant.EPOCH;
+
+    @Autowired
+    public DispatchQueue(DispatchConfig config) {
+        this(config, config.isMediaGroupEnabled());
+    }
+
+    public DispatchQueue(DispatchConfig config, boolean albums) {
+        this.config = config;
+        this.albums = albums;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class DispatchItem {
+        private final NewsItem news;
+        private final String channelId;
+        private final int priority;
+    }
+
+    public synchronized void offer(NewsItem news, String channelId) {
+        String key = keyOf(news, channelId);
+        DispatchItem existing = pending.get(key);
+
+        if (existing != null && isNewer(existing.getNews(), news)) {
+            log.debug("Оставляем более свежую отложенную новость для {}: {}", key, existing.getNews().getTitle());
+            return;
+        }
+        if (existing != null && !existing.getNews().getUrl().equals(news.getUrl())) {
+            log.debug("Отложенная новость {} заменена более свежей: {}", existing.getNews().getTitle(), news.getTitle());
+        }
+        pending.put(key, new DispatchItem(news, channelId, priorityOf(news)));
+        if (albums) {
+            heldSince.putIfAbsent(channelId, Instant.now());
+        }
+    }
+
+    /**
+     * Забирает новости, которые можно отправить сейчас, в порядке убывания приоритета.
+     */
+    public synchronized List<DispatchItem> drain() {
+        Instant now = Instant.now();
+        if (now.isBefore(pausedUntil)) {
+            log.info("Отправка приостановлена Telegram до {}, отложено {} новостей", pausedUntil, pending.size());
+            return List.of();
+        }
+
+        List<DispatchItem> ordered = new ArrayList<>(pending.values());
+        ordered.sort(Comparator.comparingInt(DispatchItem::getPriority).reversed()
+                .thenComparing(item -> item.getNews().getPubDate(), Comparator.nullsLast(Comparator.reverseOrder())));
+
+        Map<String, Integer> pendingPerChat = new HashMap<>();
+        ordered.forEach(item -> pendingPerChat.merge(item.getChannelId(), 1, Integer::sum));
+
+        List<DispatchItem> ready = new ArrayList<>();
+        for (DispatchItem item : ordered) {
+            if (albums && isHeld(item.getChannelId(), pendingPerChat.get(item.getChannelId()), now)) continue;
+            if (!tryAcquire(item.getChannelId(), now)) continue;
+            pending.remove(keyOf(item.getNews(), item.getChannelId()));
+            ready.add(item);
+        }
+        if (albums) {
+            heldSince.keySet().retainAll(pending.values().stream().map(DispatchItem::getChannelId).toList());
+        }
+
+        if (!pending.isEmpty()) {
+            log.info("Отложено до следующего цикла из-за лимитов: {} новостей", pending.size());
+        }
+        return ready;
+    }
+
+    public synchronized void onThrottled(DispatchItem item, Duration retryAfter) {
+        Instant until = Instant.now().plus(retryAfter);
+        if (until.isAfter(pausedUntil)) {
+            pausedUntil = until;
+        }
+        offer(item.getNews(), item.getChannelId());
+        log.warn("Telegram ограничил отправку на {} с, новость отложена: {}", retryAfter.toSeconds(), item.getNews().getTitle());
+    }
+
+    public synchronized boolean isPaused() {
+        return Instant.now().isBefore(pausedUntil);
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    private String keyOf(NewsItem news, String channelId) {
+        return channelId + "|" + (albums ? news.getUrl() : news.getCategory());
+    }
+
+    private boolean isHeld(String channelId, int pendingForChat, Instant now) {
+        if (pendingForChat >= config.getMediaGroupMaxSize()) return false;
+        Instant since = heldSince.get(channelId);
+        return since != null && since.plusMillis(config.getMediaGroupLingerMs()).isAfter(now);
+    }
+
+    private int priorityOf(NewsItem news) {
+        int priority = config.getCategoryPriorities().getOrDefault(news.getCategory(), config.getDefaultPriority());
+        if (news.getFeedUrl() != null) {
+            priority += config.getFeedPriorities().getOrDefault(news.getFeedUrl(), 0);
+        }
+        if (news.getPubDate() != null
+                && news.getPubDate().isAfter(Instant.now().minus(Duration.ofMinutes(config.getFreshnessWindowMinutes())))) {
+            priority += config.getFreshnessBoost();
+        }
+        return priority;
+    }
+
+    private boolean tryAcquire(String channelId, Instant now) {
+        Deque<Instant> window = sentPerChat.computeIfAbsent(channelId, k -> new ArrayDeque<>());
+        Instant windowStart = now.minus(Duration.ofMinutes(1));
+        while (!window.isEmpty() && window.peekFirst().isBefore(windowStart)) {
+            window.pollFirst();
+        }
+        if (window.size() >= config.getMaxPerChatPerMinute()) {
+            return false;
+        }
+        window.addLast(now);
+        return true;
+    }
+
+    private boolean isNewer(NewsItem current, NewsItem candidate) {
+        if (current.getPubDate() == null || candidate.getPubDate() == null) return false;
+        return current.getPubDate().isAfter(candidate.getPubDate());
+    }
+}
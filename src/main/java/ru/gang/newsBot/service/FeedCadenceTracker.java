@@ -0,0 +1,114 @@
+package ru.gang.newsBot.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.gang.newsBot.config.AdaptivePollingConfig;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedCadenceTracker implements SnapshotParticipant {
+    private final AdaptivePollingConfig config;
+
+    private final Map<String, FeedCadence> cadences = new ConcurrentHashMap<>();
+
+    static class FeedCadence implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        double ewmaGapMs;
+        Instant lastPubDate;
+        int emptyPolls;
+
+        synchronized FeedCadence copy() {
+            FeedCadence copy = new FeedCadence();
+            copy.ewmaGapMs = ewmaGapMs;
+            copy.lastPubDate = lastPubDate;
+            copy.emptyPolls = emptyPolls;
+            return copy;
+        }
+    }
+
+    @Override
+    public String snapshotKey() {
+        return "feedCadences";
+    }
+
+    @Override
+    public Serializable captureSnapshot() {
+        HashMap<String, FeedCadence> snapshot = new HashMap<>();
+        cadences.forEach((feedUrl, cadence) -> snapshot.put(feedUrl, cadence.copy()));
+        return snapshot;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restoreSnapshot(Serializable state) {
+        cadences.putAll((Map<String, FeedCadence>) state);
+    }
+
+    /**
+     * Учитывает даты публикации элементов, появившихся с прошлого опроса.
+     */
+    public void observe(String feedUrl, List<Instant> newPubDates) {
+        FeedCadence cadence = cadences.computeIfAbsent(feedUrl, k -> new FeedCadence());
+
+        synchronized (cadence) {
+            if (newPubDates.isEmpty()) {
+                cadence.emptyPolls++;
+                return;
+            }
+            cadence.emptyPolls = 0;
+
+            List<Instant> sorted = new ArrayList<>(newPubDates);
+            Collections.sort(sorted);
+
+            Instant previous = cadence.lastPubDate;
+            for (Instant pubDate : sorted) {
+                // Элементы не новее уже учтённых не дают интервала и не сдвигают точку отсчёта
+                if (previous != null && !pubDate.isAfter(previous)) continue;
+                if (previous != null) {
+                    double gap = Duration.between(previous, pubDate).toMillis();
+                    cadence.ewmaGapMs = cadence.ewmaGapMs == 0
+                            ? gap
+                            : config.getEwmaAlpha() * gap + (1 - config.getEwmaAlpha()) * cadence.ewmaGapMs;
+                }
+                previous = pubDate;
+            }
+            cadence.lastPubDate = previous;
+        }
+    }
+
+    public long nextPollDelayMs(String feedUrl) {
+        FeedCadence cadence = cadences.get(feedUrl);
+
+        double delay = config.getInitialIntervalMs();
+        if (cadence != null) {
+            synchronized (cadence) {
+                // Пока интервал публикаций неизвестен, отступаем от начального
+                double base = cadence.ewmaGapMs == 0
+                        ? config.getInitialIntervalMs()
+                        : cadence.ewmaGapMs * config.getPollFraction();
+                delay = base * Math.pow(config.getBackoffFactor(), cadence.emptyPolls);
+            }
+        }
+
+        delay = Math.max(config.getMinIntervalMs(), Math.min(config.getMaxIntervalMs(), delay));
+        double jitter = config.getJitterRatio() * delay;
+        if (jitter > 0) {
+            delay += ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        }
+        return Math.max(config.getMinIntervalMs(), Math.min(config.getMaxIntervalMs(), (long) delay));
+    }
+}
@@ -0,0 +1,88 @@
+package ru.gang.newsBot.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.gang.newsBot.config.DispatchConfig;
+import ru.gang.newsBot.service.DispatchQueue.DispatchItem;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Раскладывает готовые к отправке новости по каналам и режет их на альбомы
+ * до mediaGroupMaxSize штук. Окно накопления держит {@link DispatchQueue},
+ * сюда приходят уже отпущенные ею новости в порядке приоритета.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaGroupBatcher {
+    private final DispatchConfig config;
+
+    /**
+     * Альбомы в порядке приоритета их первой новости; внутри альбома порядок очереди сохраняется.
+     */
+    public List<List<DispatchItem>> batch(List<DispatchItem> ready) {
+        Map<String, List<DispatchItem>> byChat = new LinkedHashMap<>();
+        for (DispatchItem item : ready) {
+            byChat.computeIfAbsent(item.getChannelId(), k -> new ArrayList<>()).add(item);
+        }
+
+        int maxSize = Math.max(1, config.getMediaGroupMaxSize());
+        List<List<DispatchItem>> groups = new ArrayList<>();
+        byChat.values().forEach(items -> {
+            for (int from = 0; from < items.size(); from += maxSize) {
+                groups.add(List.copyOf(items.subList(from, Math.min(from + maxSize, items.size()))));
+            }
+        });
+        return groups;
+    }
+
+    /**
+     * Отправляет альбомы не более чем в maxInFlight параллельных «дорожек».
+     */
+    public CompletableFuture<Void> dispatch(List<DispatchItem> ready, int maxInFlight,
+                                            Function<List<DispatchItem>, CompletableFuture<Boolean>> sender) {
+        List<List<DispatchItem>> groups = batch(ready);
+        log.debug("Новости для отправки разложены в {} альбомов", groups.size());
+
+        Iterator<List<DispatchItem>> queue = groups.iterator();
+        List<CompletableFuture<Void>> lanes = new ArrayList<>();
+        for (int i = 0; i < Math.min(Math.max(1, maxInFlight), groups.size()); i++) {
+            lanes.add(sendNext(queue, sender));
+        }
+        return CompletableFuture.allOf(lanes.toArray(new CompletableFuture[0]));
+    }
+
+    private CompletableFuture<Void> sendNext(Iterator<List<DispatchItem>> queue,
+                                             Function<List<DispatchItem>, CompletableFuture<Boolean>> sender) {
+        List<DispatchItem> group;
+        synchronized (queue) {
+            if (!queue.hasNext()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            group = queue.next();
+        }
+
+        CompletableFuture<Boolean> sent;
+        try {
+            sent = sender.apply(group);
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        String chatId = group.get(0).getChannelId();
+        return sent.handle((success, ex) -> {
+                    if (ex != null) {
+                        log.error("Ошибка при отправке пачки в канал {}: {}", chatId, ex.getMessage(), ex);
+                    }
+                    return null;
+                })
+                .thenCompose(v -> sendNext(queue, sender));
+    }
+}
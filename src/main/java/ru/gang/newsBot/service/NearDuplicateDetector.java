@@ -0,0 +1,170 @@
+package ru.gang.newsBot.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ru.gang.newsBot.config.DedupConfig;
+import ru.gang.newsBot.util.SimHash;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Индекс отпечатков опубликованных новостей. Разбор ленты только сверяется с индексом,
+ * а отпечаток попадает в него после подтверждённой отправки: иначе отброшенная новость
+ * (без изображения, с ошибкой отправки) глушила бы свои пересказы из других лент.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NearDuplicateDetector implements SnapshotParticipant {
+    private final DedupConfig dedupConfig;
+
+    private final Map<String, Entry> entriesByUrl = new HashMap<>();
+    private final Map<Long, Set<String>> buckets = new HashMap<>();
+    private final Deque<Entry> entriesByAge = new ArrayDeque<>();
+    // Отпечатки прошедших проверку новостей до их отправки, по тексту из ленты
+    private final Map<String, Long> candidates = new LinkedHashMap<>();
+
+    private record Entry(String url, long fingerprint, Instant seenAt) implements Serializable {
+    }
+
+    @Override
+    public String snapshotKey() {
+        return "nearDuplicateIndex";
+    }
+
+    @Override
+    public synchronized Serializable captureSnapshot() {
+        return new ArrayList<>(entriesByUrl.values());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized void restoreSnapshot(Serializable state) {
+        List<Entry> entries = new ArrayList<>((List<Entry>) state);
+        entries.sort(Comparator.comparing(Entry::seenAt));
+        entries.forEach(entry -> register(entry.url(), entry.fingerprint(), entry.seenAt()));
+        evictExpired(Instant.now());
+        log.info("Восстановлено {} отпечатков индекса почти-дубликатов", entriesByUrl.size());
+    }
+
+    /**
+     * Похожа ли новость на уже опубликованную. Индекс не меняется; отпечаток запоминается
+     * до {@link #markPublished(String)}.
+     */
+    public synchronized boolean isNearDuplicate(String url, String title, String description) {
+        if (!dedupConfig.isNearDuplicateEnabled() || url == null) return false;
+
+        long fingerprint = SimHash.compute(title + " " + (description != null ? description : ""),
+                dedupConfig.getShingleSize());
+        if (fingerprint == 0L) return false;
+
+        String duplicateOf = findMatch(url, fingerprint, Instant.now());
+        if (duplicateOf != null) {
+            log.debug("Найден почти-дубликат: {} похож на {}", url, duplicateOf);
+            return true;
+        }
+
+        candidates.put(url, fingerprint);
+        Iterator<String> eldest = candidates.keySet().iterator();
+        while (candidates.size() > dedupConfig.getMaxEntries() && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+        return false;
+    }
+
+    /**
+     * Новость отправлена: её отпечаток начинает глушить пересказы из других лент.
+     */
+    public synchronized void markPublished(String url) {
+        Long fingerprint = candidates.remove(url);
+        if (fingerprint != null) {
+            register(url, fingerprint, Instant.now());
+        }
+    }
+
+    public synchronized int size() {
+        return entriesByUrl.size();
+    }
+
+    synchronized int trackedEntries() {
+        return entriesByAge.size();
+    }
+
+    synchronized String findMatch(String url, long fingerprint, Instant now) {
+        evictExpired(now);
+
+        Set<String> matches = new HashSet<>();
+        for (long bucketKey : bucketKeys(fingerprint)) {
+            Set<String> bucket = buckets.get(bucketKey);
+            if (bucket != null) matches.addAll(bucket);
+        }
+
+        for (String candidateUrl : matches) {
+            if (candidateUrl.equals(url)) continue;
+            Entry candidate = entriesByUrl.get(candidateUrl);
+            if (candidate != null && SimHash.hammingDistance(candidate.fingerprint(), fingerprint)
+                    <= dedupConfig.getMaxHammingDistance()) {
+                return candidateUrl;
+            }
+        }
+        return null;
+    }
+
+    synchronized void register(String url, long fingerprint, Instant seenAt) {
+        // Повторно опубликованный адрес уже в индексе: окно считаем от первой публикации
+        if (entriesByUrl.containsKey(url)) return;
+
+        Entry entry = new Entry(url, fingerprint, seenAt);
+        entriesByUrl.put(url, entry);
+        for (long bucketKey : bucketKeys(entry.fingerprint())) {
+            buckets.computeIfAbsent(bucketKey, k -> new HashSet<>()).add(entry.url());
+        }
+        entriesByAge.addLast(entry);
+
+        while (entriesByUrl.size() > dedupConfig.getMaxEntries() && !entriesByAge.isEmpty()) {
+            remove(entriesByAge.pollFirst());
+        }
+    }
+
+    private void evictExpired(Instant now) {
+        Instant threshold = now.minus(Duration.ofMinutes(dedupConfig.getWindowMinutes()));
+        while (!entriesByAge.isEmpty() && entriesByAge.peekFirst().seenAt().isBefore(threshold)) {
+            remove(entriesByAge.pollFirst());
+        }
+    }
+
+    private void remove(Entry entry) {
+        if (entriesByUrl.get(entry.url()) == entry) {
+            entriesByUrl.remove(entry.url());
+            removeFromBuckets(entry);
+        }
+    }
+
+    private void removeFromBuckets(Entry entry) {
+        for (long bucketKey : bucketKeys(entry.fingerprint())) {
+            Set<String> bucket = buckets.get(bucketKey);
+            if (bucket != null) {
+                bucket.remove(entry.url());
+                if (bucket.isEmpty()) buckets.remove(bucketKey);
+            }
+        }
+    }
+
+    private long[] bucketKeys(long fingerprint) {
+        int bands = Math.max(2, Math.min(16, dedupConfig.getMaxHammingDistance() + 1));
+        int bitsPerBand = 64 / bands;
+        long mask = (1L << bitsPerBand) - 1;
+
+        long[] keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long value = (fingerprint >>> (band * bitsPerBand)) & mask;
+            keys[band] = ((long) band << 56) | value;
+        }
+        return keys;
+    }
+}
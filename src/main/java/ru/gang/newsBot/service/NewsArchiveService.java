@@ -0,0 +1,323 @@
+package ru.gang.newsBot.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.gang.newsBot.config.ArchiveConfig;
+import ru.gang.newsBot.model.NewsArchiveEntry;
+import ru.gang.newsBot.model.NewsArchiveEntry.PostStatus;
+import ru.gang.newsBot.model.NewsItem;
+import ru.gang.newsBot.repository.NewsArchiveRepository;
+import ru.gang.newsBot.util.AsyncUtils;
+import ru.gang.newsBot.util.Workload;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@Lazy(false)
+public class NewsArchiveService {
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+
+    private final NewsArchiveRepository newsArchiveRepository;
+    private final ArchiveConfig archiveConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncUtils asyncUtils;
+    private final boolean enabled;
+
+    private final Queue<ArchiveRecord> pendingRecords = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingSize = new AtomicInteger();
+    private final AtomicBoolean flushInProgress = new AtomicBoolean();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledFuture<?> flushTimer;
+
+    public NewsArchiveService(ObjectProvider<NewsArchiveRepository> newsArchiveRepository,
+                              ArchiveConfig archiveConfig,
+                              ObjectProvider<TransactionTemplate> transactionTemplate,
+                              AsyncUtils asyncUtils,
+                              @Qualifier("schedulerExecutor") ScheduledExecutorService schedulerExecutor) {
+        this.newsArchiveRepository = newsArchiveRepository.getIfAvailable();
+        this.archiveConfig = archiveConfig;
+        this.transactionTemplate = transactionTemplate.getIfAvailable();
+        this.asyncUtils = asyncUtils;
+        this.enabled = archiveConfig.isEnabled() && this.newsArchiveRepository != null && this.transactionTemplate != null;
+
+        if (archiveConfig.isEnabled() && !enabled) {
+            log.warn("Архив новостей включён, но JPA недоступен - архивирование отключено");
+        }
+        // Таймер только ставит запись в пул persist, медленная БД не задерживает планировщик
+        this.flushTimer = enabled
+                ? schedulerExecutor.scheduleWithFixedDelay(this::flushPeriodically,
+                        archiveConfig.getFlushIntervalMs(), archiveConfig.getFlushIntervalMs(), TimeUnit.MILLISECONDS)
+                : null;
+    }
+
+    private record ArchiveRecord(NewsItem item, PostStatus status, Instant timestamp, Long durationMs, int writeAttempts) {
+        ArchiveRecord(NewsItem item, PostStatus status, Long durationMs) {
+            this(item, status, Instant.now(), durationMs, 0);
+        }
+
+        ArchiveRecord retried() {
+            return new ArchiveRecord(item, status, timestamp, durationMs, writeAttempts + 1);
+        }
+    }
+
+    public void recordIngested(NewsItem item, long enrichDurationMs) {
+        enqueue(new ArchiveRecord(item, PostStatus.INGESTED, enrichDurationMs));
+    }
+
+    public void recordPosted(NewsItem item, long sendDurationMs) {
+        enqueue(new ArchiveRecord(item, PostStatus.POSTED, sendDurationMs));
+    }
+
+    public void recordFailed(NewsItem item, long sendDurationMs) {
+        enqueue(new ArchiveRecord(item, PostStatus.FAILED, sendDurationMs));
+    }
+
+    public boolean wasPosted(NewsItem item) {
+        if (!enabled) return false;
+        try {
+            String guid = item.getGuid() == null || item.getGuid().isEmpty()
+                    ? null
+                    : truncate(item.getGuid(), NewsArchiveEntry.GUID_LENGTH);
+            return newsArchiveRepository.existsByUrlOrGuidAndStatus(archivedUrl(item.getUrl()), guid, PostStatus.POSTED);
+        } catch (Exception e) {
+            log.warn("Не удалось проверить архив для {}: {}", item.getUrl(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Пакетная проверка: какие из адресов уже опубликованы по данным архива.
+     */
+    public Set<String> findPostedUrls(Collection<String> urls) {
+        if (!enabled || urls.isEmpty()) return Set.of();
+
+        Set<String> posted = new HashSet<>();
+        List<String> batch = new ArrayList<>(archiveConfig.getBatchSize());
+        try {
+            for (String url : urls) {
+                batch.add(url);
+                if (batch.size() >= archiveConfig.getBatchSize()) {
+                    collectPosted(batch, posted);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                collectPosted(batch, posted);
+            }
+        } catch (Exception e) {
+            log.warn("Не удалось проверить архив для {} адресов: {}", urls.size(), e.getMessage());
+        }
+        return posted;
+    }
+
+    private void collectPosted(List<String> urls, Set<String> posted) {
+        // В архиве хранится усечённый адрес, а вернуть нужно исходные
+        Map<String, List<String>> byArchivedUrl = urls.stream()
+                .collect(Collectors.groupingBy(NewsArchiveService::archivedUrl));
+        newsArchiveRepository.findByUrlIn(byArchivedUrl.keySet()).stream()
+                .filter(entry -> entry.getStatus() == PostStatus.POSTED)
+                .forEach(entry -> posted.addAll(byArchivedUrl.getOrDefault(entry.getUrl(), List.of())));
+    }
+
+    public List<NewsArchiveEntry> findPostedInCategory(String category, Duration window) {
+        if (!enabled) return List.of();
+        return newsArchiveRepository.findByCategoryAndStatusAndPostedAtAfterOrderByPostedAtDesc(
+                category, PostStatus.POSTED, Instant.now().minus(window));
+    }
+
+    private void enqueue(ArchiveRecord record) {
+        if (!enabled || record.item() == null || record.item().getUrl() == null) return;
+        if (!offer(record)) return;
+
+        if (pendingSize.get() >= archiveConfig.getBatchSize()) {
+            scheduleFlush();
+        }
+    }
+
+    private void flushPeriodically() {
+        if (pendingSize.get() > 0) {
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        // В очереди persist держим не больше одной записи в архив: она заберёт всё накопленное
+        if (flushInProgress.get() || !flushScheduled.compareAndSet(false, true)) return;
+        asyncUtils.asyncRun(Workload.PERSIST, () -> {
+            flushScheduled.set(false);
+            flush();
+        }, "Запись пачки в архив").whenComplete((v, ex) -> flushScheduled.set(false));
+    }
+
+    private boolean offer(ArchiveRecord record) {
+        if (pendingSize.incrementAndGet() > archiveConfig.getMaxPendingSize()) {
+            pendingSize.decrementAndGet();
+            log.warn("Очередь архива переполнена ({}), запись пропущена: {}",
+                    archiveConfig.getMaxPendingSize(), record.item().getUrl());
+            return false;
+        }
+        pendingRecords.add(record);
+        return true;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (flushTimer != null) {
+            flushTimer.cancel(false);
+        }
+        flush();
+    }
+
+    public void flush() {
+        if (!flushInProgress.compareAndSet(false, true)) return;
+
+        try {
+            int written = 0;
+            while (!pendingRecords.isEmpty()) {
+                List<ArchiveRecord> batch = drainBatch();
+                if (batch.isEmpty()) break;
+                BatchResult result = writeBatch(batch);
+                written += result.saved();
+                // Пакет вернулся в очередь - повторим на следующем плановом сбросе, а не в цикле
+                if (result.requeued()) break;
+            }
+            if (written > 0) {
+                log.debug("Архив новостей: записано {} строк", written);
+            }
+        } finally {
+            flushInProgress.set(false);
+        }
+    }
+
+    private List<ArchiveRecord> drainBatch() {
+        List<ArchiveRecord> batch = new ArrayList<>(archiveConfig.getBatchSize());
+        ArchiveRecord record;
+        while (batch.size() < archiveConfig.getBatchSize() && (record = pendingRecords.poll()) != null) {
+            pendingSize.decrementAndGet();
+            batch.add(record);
+        }
+        return batch;
+    }
+
+    private record BatchResult(int saved, boolean requeued) {
+    }
+
+    private BatchResult writeBatch(List<ArchiveRecord> batch) {
+        Map<String, List<ArchiveRecord>> recordsByUrl = batch.stream()
+                .collect(Collectors.groupingBy(r -> archivedUrl(r.item().getUrl()), LinkedHashMap::new, Collectors.toList()));
+
+        try {
+            return new BatchResult(save(recordsByUrl), false);
+        } catch (Exception e) {
+            log.warn("Пакет архива ({} записей) не записан: {}, пишем по одной новости", batch.size(), e.getMessage());
+        }
+
+        // Одна битая строка не должна откатывать весь пакет, в том числе POSTED, на которых держится дедупликация
+        int saved = 0;
+        List<ArchiveRecord> failed = new ArrayList<>();
+        Exception lastError = null;
+        for (Map.Entry<String, List<ArchiveRecord>> group : recordsByUrl.entrySet()) {
+            try {
+                saved += save(Map.of(group.getKey(), group.getValue()));
+            } catch (Exception e) {
+                failed.addAll(group.getValue());
+                lastError = e;
+            }
+        }
+        if (failed.isEmpty()) {
+            return new BatchResult(saved, false);
+        }
+
+        // Если не записалось ничего, скорее всего недоступна БД: возвращаем записи в очередь
+        if (saved == 0) {
+            int requeued = 0;
+            for (ArchiveRecord record : failed) {
+                if (record.writeAttempts() + 1 < MAX_WRITE_ATTEMPTS && offer(record.retried())) {
+                    requeued++;
+                }
+            }
+            log.error("Архив недоступен: {} записей возвращено в очередь, {} отброшено: {}",
+                    requeued, failed.size() - requeued, lastError.getMessage());
+            return new BatchResult(0, requeued > 0);
+        }
+
+        log.error("Не удалось записать в архив {} записей, остальные {} сохранены: {}",
+                failed.size(), saved, lastError.getMessage(), lastError);
+        return new BatchResult(saved, false);
+    }
+
+    private int save(Map<String, List<ArchiveRecord>> recordsByUrl) {
+        Integer saved = transactionTemplate.execute(status -> {
+            Map<String, NewsArchiveEntry> existing = newsArchiveRepository.findByUrlIn(recordsByUrl.keySet()).stream()
+                    .collect(Collectors.toMap(NewsArchiveEntry::getUrl, Function.identity(), (a, b) -> a));
+
+            List<NewsArchiveEntry> entries = new ArrayList<>(recordsByUrl.size());
+            recordsByUrl.forEach((url, records) -> {
+                NewsArchiveEntry entry = existing.getOrDefault(url, new NewsArchiveEntry());
+                records.forEach(r -> apply(entry, r));
+                entries.add(entry);
+            });
+
+            newsArchiveRepository.saveAll(entries);
+            return entries.size();
+        });
+        return saved != null ? saved : 0;
+    }
+
+    private void apply(NewsArchiveEntry entry, ArchiveRecord record) {
+        NewsItem item = record.item();
+        entry.setUrl(archivedUrl(item.getUrl()));
+        if (item.getFeedUrl() != null) entry.setFeed(truncate(item.getFeedUrl(), NewsArchiveEntry.FEED_LENGTH));
+        if (item.getCategory() != null) entry.setCategory(truncate(item.getCategory(), NewsArchiveEntry.CATEGORY_LENGTH));
+        if (item.getGuid() != null) entry.setGuid(truncate(item.getGuid(), NewsArchiveEntry.GUID_LENGTH));
+        if (item.getTitle() != null) entry.setTitle(truncate(item.getTitle(), NewsArchiveEntry.TITLE_LENGTH));
+        if (item.getPubDate() != null) entry.setPubDate(item.getPubDate());
+        if (item.getImageUrl() != null && !item.getImageUrl().isEmpty()) {
+            entry.setImageUrl(truncate(item.getImageUrl(), NewsArchiveEntry.IMAGE_URL_LENGTH));
+        }
+
+        switch (record.status()) {
+            case INGESTED -> {
+                if (entry.getStatus() == null) entry.setStatus(PostStatus.INGESTED);
+                if (entry.getIngestedAt() == null) entry.setIngestedAt(record.timestamp());
+                entry.setEnrichDurationMs(record.durationMs());
+            }
+            case POSTED -> {
+                entry.setStatus(PostStatus.POSTED);
+                entry.setPostedAt(record.timestamp());
+                entry.setSendDurationMs(record.durationMs());
+                entry.setAttempts(entry.getAttempts() + 1);
+            }
+            case FAILED -> {
+                if (entry.getStatus() != PostStatus.POSTED) entry.setStatus(PostStatus.FAILED);
+                entry.setSendDurationMs(record.durationMs());
+                entry.setAttempts(entry.getAttempts() + 1);
+            }
+        }
+        if (entry.getIngestedAt() == null) entry.setIngestedAt(record.timestamp());
+    }
+
+    private static String archivedUrl(String url) {
+        return truncate(url, NewsArchiveEntry.URL_LENGTH);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
@@ -3,10 +3,18 @@ package ru.gang.newsBot.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.telegram.telegrambots.meta.api.methods.send.SendMediaGroup;
 import org.telegram.telegrambots.meta.api.methods.send.SendPhoto;
 import org.telegram.telegrambots.meta.api.objects.InputFile;
+import org.telegram.telegrambots.meta.api.objects.media.InputMedia;
+import org.telegram.telegrambots.meta.api.objects.media.InputMediaPhoto;
 import ru.gang.newsBot.config.NewsChannelConfig;
+import ru.gang.newsBot.jfr.RenderEvent;
+import ru.gang.newsBot.model.CaptionStyle;
+import ru.gang.newsBot.model.NewsItem;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -16,6 +24,7 @@ public class NewsPosterService {
     private static final int MAX_CAPTION_LENGTH = 1024;
     private static final int SHORT_TEXT_THRESHOLD = 900;
     private static final String READ_MORE_TEXT = "...читать полностью";
+    private static final String HEADLINE_LINK_TEXT = "Читать на сайте";
 
     private final NewsChannelConfig newsChannelConfig;
 
@@ -28,10 +37,31 @@ public class NewsPosterService {
 
     public SendPhoto buildPhotoMessage(String newsTitle, String newsUrl, String newsSource, String imageUrl, String description, String channelId) {
         String category = getCategoryByChannelId(channelId);
-        String channelLink = CHANNEL_LINKS.getOrDefault(category, "");
+        return buildPhotoMessage(newsTitle, newsUrl, imageUrl, description, channelId, category,
+                CHANNEL_LINKS.getOrDefault(category, ""), CaptionStyle.FULL);
+    }
+
+    /**
+     * Сообщение для произвольного набора каналов: ссылка на подписку и стиль подписи задаются вызывающим.
+     */
+    public SendPhoto buildPhotoMessage(NewsItem news, String channelId, String channelLink, CaptionStyle style) {
+        return buildPhotoMessage(news.getTitle(), news.getUrl(), news.getImageUrl(), news.getDescription(), channelId,
+                news.getCategory(), channelLink, style);
+    }
+
+    private SendPhoto buildPhotoMessage(String newsTitle, String newsUrl, String imageUrl, String description,
+                                        String channelId, String category, String channelLink, CaptionStyle style) {
+        RenderEvent renderEvent = new RenderEvent();
+        renderEvent.url(newsUrl).category(category);
+        renderEvent.begin();
 
         String title = newsTitle != null && !newsTitle.isBlank() ? "*" + newsTitle + "*\n\n" : "";
-        String subscribe = "🔔 [Подписаться](" + channelLink + ")";
+        String subscribe = channelLink.isEmpty() ? "" : "🔔 [Подписаться](" + channelLink + ")";
+
+        if (style == CaptionStyle.HEADLINE) {
+            title += "[" + HEADLINE_LINK_TEXT + "](" + newsUrl + ")\n\n";
+            description = null;
+        }
 
         String processedDescription = "";
         boolean isShortText = description == null || description.length() <= SHORT_TEXT_THRESHOLD;
@@ -118,9 +148,57 @@ public class NewsPosterService {
         photoMessage.setParseMode("Markdown");
 
         log.debug("Создано сообщение для канала {}: {} символов", channelId, formattedMessage.length());
+        renderEvent.chars = formattedMessage.length();
+        renderEvent.finish(formattedMessage.length() > MAX_CAPTION_LENGTH ? "oversize" : "ok");
         return photoMessage;
     }
 
+    /**
+     * Альбом из нескольких новостей: фото идут по порядку, а подпись первого фото
+     * служит подписью всего альбома — нумерованный список заголовков со ссылками.
+     */
+    public SendMediaGroup buildMediaGroup(List<NewsItem> items, String channelId) {
+        String category = getCategoryByChannelId(channelId);
+        String channelLink = CHANNEL_LINKS.getOrDefault(category, "");
+        String subscribe = "🔔 [Подписаться](" + channelLink + ")";
+
+        StringBuilder caption = new StringBuilder();
+        int included = 0;
+        for (NewsItem item : items) {
+            String line = (included + 1) + ". [" + escapeLinkText(item.getTitle()) + "](" + item.getUrl() + ")\n\n";
+            if (caption.length() + line.length() + subscribe.length() > MAX_CAPTION_LENGTH) {
+                break;
+            }
+            caption.append(line);
+            included++;
+        }
+        caption.append(subscribe);
+        if (included < items.size()) {
+            log.warn("В подпись альбома поместилось {} заголовков из {}", included, items.size());
+        }
+
+        List<InputMedia> medias = new ArrayList<>();
+        for (NewsItem item : items) {
+            InputMediaPhoto photo = new InputMediaPhoto(item.getImageUrl());
+            if (medias.isEmpty()) {
+                photo.setCaption(caption.toString());
+                photo.setParseMode("Markdown");
+            }
+            medias.add(photo);
+        }
+
+        SendMediaGroup mediaGroup = new SendMediaGroup();
+        mediaGroup.setChatId(channelId);
+        mediaGroup.setMedias(medias);
+
+        log.debug("Создан альбом для канала {}: {} фото, подпись {} символов", channelId, medias.size(), caption.length());
+        return mediaGroup;
+    }
+
+    private String escapeLinkText(String text) {
+        return text == null ? "" : text.replace("[", "(").replace("]", ")");
+    }
+
     private String getCategoryByChannelId(String channelId) {
         Map<String, String> channels = newsChannelConfig.getChannels();
         for (Map.Entry<String, String> entry : channels.entrySet()) {
@@ -11,32 +11,60 @@ import org.springframework.stereotype.Service;
 import ru.gang.newsBot.config.NewsChannelConfig;
 import ru.gang.newsBot.config.RssConfig;
 import ru.gang.newsBot.model.NewsItem;
+import ru.gang.newsBot.jfr.ArticleExtractEvent;
+import ru.gang.newsBot.jfr.ArticleFetchEvent;
+import ru.gang.newsBot.jfr.FeedFetchEvent;
+import ru.gang.newsBot.jfr.FeedParseEvent;
+import ru.gang.newsBot.jfr.ImageRetryEvent;
+import ru.gang.newsBot.jfr.NewsEvent;
+import ru.gang.newsBot.tracing.Span;
+import ru.gang.newsBot.tracing.Tracer;
 import ru.gang.newsBot.util.AsyncUtils;
-import ru.gang.newsBot.util.HttpRequestUtil;
+import ru.gang.newsBot.util.CycleDeadline;
+import ru.gang.newsBot.util.FetchedPage;
+import ru.gang.newsBot.util.HedgingFetcher;
 import ru.gang.newsBot.util.HttpRequestUtil.RequestConfig;
-
+import ru.gang.newsBot.util.PageParser;
+import ru.gang.newsBot.util.Workload;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class RssParserService {
+public class RssParserService implements SnapshotParticipant {
     private final NewsChannelConfig newsChannelConfig;
     private final RssConfig rssConfig;
     private final AsyncUtils asyncUtils;
+    private final NewsArchiveService newsArchiveService;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final HedgingFetcher hedgingFetcher;
+    private final Tracer tracer;
+    private final FeedCadenceTracker feedCadenceTracker;
+    private final PageParser pageParser;
+    private final SentNewsRegistry sentNewsRegistry;
+    private final DeliveryStatus tenantDeliveries;
 
     private static final int MAX_IMAGE_RETRY_ATTEMPTS = 5;
     private static final int IMAGE_RETRY_DELAY_MS = 5000;
     private static final Pattern DEFAULT_IMAGE_PATTERN = Pattern.compile(".*/assets/webpack/images/lenta_og\\.[a-f0-9]+\\.png$");
     private static final Pattern VALID_IMAGE_PATTERN = Pattern.compile(".*/images/\\d+/\\d+/\\d+/\\d+/.*\\.jpg$");
 
-    private final List<String> rssUrls = List.of("https://lenta.ru/rss/news");
+    private final Map<String, Instant> feedWatermarks = new ConcurrentHashMap<>();
 
     @Data
     @Builder
@@ -46,35 +74,72 @@ public class RssParserService {
         private String source;
         private String description;
         private String category;
+        private String feedUrl;
+        private String guid;
+        private Instant pubDate;
+    }
+
+    @Override
+    public String snapshotKey() {
+        return "feedWatermarks";
+    }
+
+    @Override
+    public Serializable captureSnapshot() {
+        return new HashMap<>(feedWatermarks);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restoreSnapshot(Serializable state) {
+        feedWatermarks.putAll((Map<String, Instant>) state);
     }
 
     public String getCategoryChannel(String category) {
         return newsChannelConfig.getChannelByEnglishCategory(category);
     }
 
-    public Map<String, NewsItem> fetchLatestNewsByCategory() {
+    public Map<String, NewsItem> fetchLatestNewsByCategory(CycleDeadline deadline) {
+        return fetchLatestNewsByCategory(rssConfig.getFeeds(), deadline);
+    }
+
+    public Map<String, NewsItem> fetchLatestNewsByCategory(List<String> feeds, CycleDeadline deadline) {
         Map<String, NewsItem> categoryNewsMap = new ConcurrentHashMap<>();
         Set<String> targetCategories = new HashSet<>(NewsChannelConfig.CATEGORY_TRANSLATIONS.values());
 
         List<CompletableFuture<Void>> futures = new ArrayList<>();
 
-        for (String rssUrl : rssUrls) {
+        for (String rssUrl : feeds) {
             log.info("Асинхронно загружаем RSS: {}", rssUrl);
 
-            CompletableFuture<Void> future = asyncUtils.asyncIoRun(() -> {
-                try {
-                    Map<String, NewsItem> newsFromSource = parseRssToLatestByCategory(rssUrl, targetCategories);
-
-                    for (Map.Entry<String, NewsItem> entry : newsFromSource.entrySet()) {
-                        categoryNewsMap.put(entry.getKey(), entry.getValue());
-                    }
-
-                    log.info("Загружено {} новостей из категорий: {}", newsFromSource.size(),
-                            String.join(", ", newsFromSource.keySet()));
-                } catch (Exception e) {
-                    log.error("Ошибка при обработке RSS {}: {}", rssUrl, e.getMessage(), e);
-                }
-            });
+            Span feedSpan = tracer.startSpan("feed").attr("url", rssUrl);
+            CompletableFuture<Void> future = downloadFeedAsync(rssUrl, feedSpan, deadline)
+                    .thenCompose(rssPage -> asyncUtils.asyncIoRun(Workload.FEED, () -> feedSpan.run(() -> {
+                        try {
+                            Map<String, NewsItem> newsFromSource =
+                                    parseRssToLatestByCategory(rssUrl, rssPage, targetCategories, deadline);
+
+                            for (Map.Entry<String, NewsItem> entry : newsFromSource.entrySet()) {
+                                categoryNewsMap.put(entry.getKey(), entry.getValue());
+                            }
+
+                            log.info("Загружено {} новостей из категорий: {}", newsFromSource.size(),
+                                    String.join(", ", newsFromSource.keySet()));
+                            feedSpan.attr("items", newsFromSource.size());
+                        } catch (Exception e) {
+                            log.error("Ошибка при обработке RSS {}: {}", rssUrl, e.getMessage(), e);
+                            feedSpan.error(e);
+                        }
+                    }), "Разбор RSS " + rssUrl, deadline))
+                    .handle((v, ex) -> {
+                        if (ex != null) {
+                            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                            log.error("Ошибка при загрузке RSS {}: {}", rssUrl, cause.getMessage());
+                            feedSpan.error(cause);
+                        }
+                        feedSpan.end();
+                        return null;
+                    });
 
             futures.add(future);
         }
@@ -84,7 +149,9 @@ public class RssParserService {
         );
 
         try {
-            allFutures.get();
+            allFutures.get(deadline.timeoutMillis(Long.MAX_VALUE), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Дедлайн цикла истёк при загрузке RSS, используем {} готовых категорий", categoryNewsMap.size());
         } catch (InterruptedException | ExecutionException e) {
             log.error("Ошибка при ожидании загрузки всех RSS: {}", e.getMessage(), e);
             Thread.currentThread().interrupt();
@@ -93,126 +160,244 @@ public class RssParserService {
         return categoryNewsMap;
     }
 
-    private CompletableFuture<String> extractFullDescriptionAsync(String articleUrl) {
-        return asyncUtils.asyncIo(() -> {
-            try {
-                RequestConfig config = new RequestConfig(
-                        rssConfig.getMaxRetries(),
-                        rssConfig.getTimeout(),
-                        rssConfig.getMaxTimeout());
-
-                Document articleDoc = HttpRequestUtil.fetchWithRetry(articleUrl, config);
+    private CompletableFuture<String> extractFullDescriptionAsync(String articleUrl, String category,
+                                                                  CycleDeadline deadline) {
+        Span span = tracer.startSpan("article.description").attr("url", articleUrl);
+        return fetchArticleAsync(articleUrl, category, "description", 1, span, deadline)
+                .thenCompose(page -> page == null
+                        ? CompletableFuture.completedFuture("")
+                        : pageParser.parseAsync(page, articleDoc -> extractDescription(articleUrl, category, articleDoc), deadline))
+                .handle((fullText, ex) -> {
+                    try {
+                        if (ex != null) {
+                            log.error("Ошибка при извлечении полного описания: {}", ex.getMessage(), ex);
+                            span.error(ex);
+                            return "";
+                        }
+                        span.attr("chars", fullText.length());
+                        return fullText;
+                    } finally {
+                        span.end();
+                    }
+                });
+    }
 
-                String fullText = "";
+    private String extractDescription(String articleUrl, String category, Document articleDoc) {
+        ArticleExtractEvent extractEvent = new ArticleExtractEvent();
+        extractEvent.url(articleUrl).category(category);
+        extractEvent.begin();
+        String fullText;
+        try {
+            fullText = extractText(articleUrl, articleDoc);
+        } catch (RuntimeException e) {
+            extractEvent.finish(NewsEvent.outcomeOf(e));
+            throw e;
+        }
+        extractEvent.chars = fullText.length();
+        extractEvent.finish(fullText.isEmpty() ? "empty" : "ok");
+        log.debug("Извлечено полное описание ({}): {} символов", articleUrl, fullText.length());
+        return fullText;
+    }
 
-                if (articleUrl.contains("lenta.ru")) {
-                    Elements paragraphs = articleDoc.select(".topic-body__content p");
-                    fullText = paragraphs.stream()
-                            .map(Element::text)
-                            .filter(text -> !text.isEmpty())
-                            .collect(Collectors.joining("\n\n"));
-                }
+    private String extractText(String articleUrl, Document articleDoc) {
+        String fullText = "";
 
-                if (fullText.isEmpty()) {
-                    Elements paragraphs = articleDoc.select("article p, .article p, .news-text p, .entry-content p, .post-content p, .content p");
-                    fullText = paragraphs.stream()
-                            .map(Element::text)
-                            .filter(text -> !text.isEmpty())
-                            .collect(Collectors.joining("\n\n"));
-                }
+        if (articleUrl.contains("lenta.ru")) {
+            Elements paragraphs = articleDoc.select(".topic-body__content p");
+            fullText = paragraphs.stream()
+                    .map(Element::text)
+                    .filter(text -> !text.isEmpty())
+                    .collect(Collectors.joining("\n\n"));
+        }
 
-                if (fullText.isEmpty()) {
-                    Element descriptionElement = articleDoc.selectFirst("meta[name=description]");
-                    fullText = descriptionElement != null ? descriptionElement.attr("content") : "";
-                }
+        if (fullText.isEmpty()) {
+            Elements paragraphs = articleDoc.select("article p, .article p, .news-text p, .entry-content p, .post-content p, .content p");
+            fullText = paragraphs.stream()
+                    .map(Element::text)
+                    .filter(text -> !text.isEmpty())
+                    .collect(Collectors.joining("\n\n"));
+        }
 
-                log.debug("Извлечено полное описание ({}): {} символов", articleUrl, fullText.length());
-                return fullText;
-            } catch (Exception e) {
-                log.error("Ошибка при извлечении полного описания: {}", e.getMessage(), e);
-                return "";
-            }
-        }, "Извлечение описания статьи " + articleUrl);
+        if (fullText.isEmpty()) {
+            Element descriptionElement = articleDoc.selectFirst("meta[name=description]");
+            fullText = descriptionElement != null ? descriptionElement.attr("content") : "";
+        }
+        return fullText;
     }
 
-    private CompletableFuture<String> extractImageFromArticleAsync(String articleUrl) {
-        return asyncUtils.asyncIo(() -> {
-            try {
-                return extractImageWithRetries(articleUrl, 0);
-            } catch (Exception e) {
-                log.error("Ошибка при извлечении изображения из статьи {}", articleUrl, e);
-                return "";
-            }
-        }, "Извлечение изображения из статьи " + articleUrl);
+    private CompletableFuture<String> extractImageFromArticleAsync(String articleUrl, String category,
+                                                                   CycleDeadline deadline) {
+        Span span = tracer.startSpan("article.image").attr("url", articleUrl);
+        return extractImageWithRetries(articleUrl, category, 0, span, deadline)
+                .handle((imageUrl, ex) -> {
+                    try {
+                        if (ex == null) {
+                            return imageUrl;
+                        }
+                        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                        if (cause instanceof InterruptedException || cause instanceof CancellationException) {
+                            log.debug("Извлечение изображения прервано: {}", articleUrl);
+                            span.status("interrupted");
+                        } else {
+                            log.error("Ошибка при извлечении изображения из статьи {}", articleUrl, cause);
+                            span.error(cause);
+                        }
+                        return "";
+                    } finally {
+                        span.end();
+                    }
+                });
     }
 
-    private String extractImageWithRetries(String articleUrl, int attemptCount) throws Exception {
+    /**
+     * Попытки получить og:image: загрузка на пуле статей, разбор на CPU-пуле,
+     * а пауза перед повтором отсчитывается таймером и не занимает поток.
+     */
+    private CompletableFuture<String> extractImageWithRetries(String articleUrl, String category, int attemptCount,
+                                                              Span parent, CycleDeadline deadline) {
         if (attemptCount >= MAX_IMAGE_RETRY_ATTEMPTS) {
             log.warn("Достигнуто максимальное количество попыток получения изображения для {}", articleUrl);
-            return "";
+            return CompletableFuture.completedFuture("");
         }
 
-        RequestConfig config = new RequestConfig(
-                rssConfig.getMaxRetries(),
-                rssConfig.getTimeout(),
-                rssConfig.getMaxTimeout());
-
-        Document articleDoc = HttpRequestUtil.fetchWithRetry(articleUrl, config);
-        Element metaOgImage = articleDoc.selectFirst("meta[property=og:image]");
+        Span attemptSpan = parent.call(() -> tracer.startSpan("image.attempt").attr("attempt", attemptCount + 1));
+        ImageRetryEvent imageEvent = new ImageRetryEvent();
+        imageEvent.url(articleUrl).category(category).attempt(attemptCount + 1);
+        imageEvent.begin();
+
+        return fetchArticleAsync(articleUrl, category, "image", attemptCount + 1, attemptSpan, deadline)
+                .thenCompose(page -> {
+                    attemptSpan.end();
+                    if (page == null) {
+                        imageEvent.finish("error");
+                        return CompletableFuture.completedFuture("");
+                    }
+                    return pageParser.parseAsync(page, articleDoc -> {
+                                Element metaOgImage = articleDoc.selectFirst("meta[property=og:image]");
+                                return metaOgImage != null ? metaOgImage.attr("content") : null;
+                            }, deadline)
+                            .thenCompose(imageUrl -> onImageCandidate(articleUrl, category, attemptCount, imageUrl,
+                                    imageEvent, parent, deadline));
+                });
+    }
 
-        if (metaOgImage == null) {
+    private CompletableFuture<String> onImageCandidate(String articleUrl, String category, int attemptCount,
+                                                       String imageUrl, ImageRetryEvent imageEvent, Span parent,
+                                                       CycleDeadline deadline) {
+        if (imageUrl == null) {
             log.debug("Мета-тег с изображением не найден для {}", articleUrl);
-            return "";
+            imageEvent.finish("missing");
+            return CompletableFuture.completedFuture("");
         }
 
-        String imageUrl = metaOgImage.attr("content");
-
-        if (imageUrl != null && !imageUrl.isEmpty()) {
+        if (!imageUrl.isEmpty()) {
             if (DEFAULT_IMAGE_PATTERN.matcher(imageUrl).matches()) {
                 log.debug("Обнаружено стандартное изображение для {}, попытка: {}", articleUrl, attemptCount + 1);
+                imageEvent.finish("default");
 
-                TimeUnit.MILLISECONDS.sleep(IMAGE_RETRY_DELAY_MS);
-                return extractImageWithRetries(articleUrl, attemptCount + 1);
+                if (!canRetryImage(deadline)) return CompletableFuture.completedFuture("");
+                return retryImageLater(articleUrl, category, attemptCount + 1, parent, deadline);
             } else if (VALID_IMAGE_PATTERN.matcher(imageUrl).matches()) {
                 log.debug("Найдено валидное изображение для {} на попытке {}: {}", articleUrl, attemptCount + 1, imageUrl);
-                return imageUrl;
+                imageEvent.finish("valid");
+                return CompletableFuture.completedFuture(imageUrl);
             } else {
                 log.debug("Найдено изображение для {}, но оно не соответствует ожидаемому формату: {}", articleUrl, imageUrl);
+                imageEvent.finish("unexpected");
 
-                if (attemptCount < 2) {
-                    TimeUnit.MILLISECONDS.sleep(IMAGE_RETRY_DELAY_MS);
-                    return extractImageWithRetries(articleUrl, attemptCount + 1);
+                if (attemptCount < 2 && canRetryImage(deadline)) {
+                    return retryImageLater(articleUrl, category, attemptCount + 1, parent, deadline)
+                            .thenApply(retried -> retried.isEmpty() ? imageUrl : retried);
                 }
-                return imageUrl;
+                return CompletableFuture.completedFuture(imageUrl);
             }
         }
 
         log.debug("Изображение не найдено для {}", articleUrl);
-        return "";
+        imageEvent.finish("missing");
+        return CompletableFuture.completedFuture("");
     }
 
-    private Map<String, NewsItem> parseRssToLatestByCategory(String rssUrl, Set<String> targetCategories) throws Exception {
-        Map<String, CompletableFuture<NewsItem>> futureCategoryMap = new ConcurrentHashMap<>();
-        Map<String, Integer> processingOrder = new HashMap<>();
-        int order = 0;
+    private boolean canRetryImage(CycleDeadline deadline) {
+        if (deadline.remainingMillis() <= IMAGE_RETRY_DELAY_MS) {
+            log.debug("Недостаточно времени до дедлайна цикла для повторной попытки получения изображения");
+            return false;
+        }
+        return true;
+    }
+
+    private CompletableFuture<String> retryImageLater(String articleUrl, String category, int attemptCount,
+                                                      Span parent, CycleDeadline deadline) {
+        Span waitSpan = parent.call(() -> tracer.startSpan("image.retry.wait").attr("delayMs", IMAGE_RETRY_DELAY_MS));
+        return asyncUtils.delay(IMAGE_RETRY_DELAY_MS, deadline)
+                .whenComplete((v, ex) -> waitSpan.end())
+                .thenCompose(v -> extractImageWithRetries(articleUrl, category, attemptCount, parent, deadline));
+    }
+
+    private CompletableFuture<FetchedPage> fetchArticleAsync(String articleUrl, String category, String purpose,
+                                                             int attempt, Span span, CycleDeadline deadline) {
+        ArticleFetchEvent event = new ArticleFetchEvent();
+        event.url(articleUrl).category(category).attempt(attempt);
+        event.purpose = purpose;
+        event.begin();
+        CompletableFuture<FetchedPage> page = span.call(() -> hedgingFetcher.fetchPageAsync(articleUrl,
+                requestConfig(), deadline, asyncUtils.getExecutor(Workload.SCRAPE)));
+        return page.handle((fetched, ex) -> {
+            if (ex != null) {
+                event.finish(NewsEvent.outcomeOf(ex));
+                log.error("Ошибка при загрузке статьи {}: {}", articleUrl, ex.getMessage());
+                span.error(ex);
+                return null;
+            }
+            event.finish("ok", fetched.size());
+            return fetched;
+        });
+    }
+
+    private CompletableFuture<FetchedPage> downloadFeedAsync(String rssUrl, Span feedSpan, CycleDeadline deadline) {
+        Span downloadSpan = feedSpan.call(() -> tracer.startSpan("feed.download").attr("url", rssUrl));
+        FeedFetchEvent fetchEvent = new FeedFetchEvent();
+        fetchEvent.url(rssUrl);
+        fetchEvent.begin();
+        CompletableFuture<FetchedPage> page = downloadSpan.call(() -> hedgingFetcher.fetchPageAsync(rssUrl,
+                requestConfig(), deadline, asyncUtils.getExecutor(Workload.FEED)));
+        return page.whenComplete((rssPage, ex) -> {
+            if (ex != null) {
+                downloadSpan.error(ex);
+                fetchEvent.finish(NewsEvent.outcomeOf(ex));
+            } else {
+                fetchEvent.finish("ok", rssPage.size());
+            }
+            downloadSpan.end();
+        });
+    }
 
-        RequestConfig config = new RequestConfig(
+    private RequestConfig requestConfig() {
+        return new RequestConfig(
                 rssConfig.getMaxRetries(),
                 rssConfig.getTimeout(),
                 rssConfig.getMaxTimeout());
+    }
+
+    private Map<String, NewsItem> parseRssToLatestByCategory(String rssUrl, FetchedPage rssPage,
+                                                             Set<String> targetCategories,
+                                                             CycleDeadline deadline) throws Exception {
+        Map<String, CompletableFuture<NewsItem>> futureCategoryMap = new ConcurrentHashMap<>();
+        Map<String, Integer> processingOrder = new HashMap<>();
+        int order = 0;
+        int skippedAsSent = 0;
 
-        Document rssDoc = HttpRequestUtil.fetchWithRetry(rssUrl, config);
-        Elements items = rssDoc.select("item");
+        FeedParseEvent parseEvent = new FeedParseEvent();
+        parseEvent.url(rssUrl);
+        parseEvent.begin();
+        Elements items = pageParser.parse(rssPage, rssDoc -> rssDoc.select("item"), deadline);
         log.debug("Найдено элементов <item>: {}", items.size());
+        updateWatermark(rssUrl, items);
 
         for (Element item : items) {
             String title = item.select("title").text();
             String category = item.select("category").text().trim();
-
-            String normalizedCategory = newsChannelConfig.getEnglishCategory(category);
-            if (normalizedCategory == null) {
-                normalizedCategory = category.toLowerCase();
-            }
+            String normalizedCategory = normalizeCategory(category);
 
             if (!targetCategories.contains(normalizedCategory)) {
                 log.debug("Пропускаем категорию: {} (нет в списке)", category);
@@ -231,6 +416,21 @@ public class RssParserService {
             String link = item.select("link").text();
             String description = item.select("description").text().trim();
             String source = getSourceName(rssUrl);
+            String guid = item.select("guid").text().trim();
+            Instant pubDate = parsePubDate(item.select("pubDate").text().trim());
+
+            if (nearDuplicateDetector.isNearDuplicate(link, title, description)) {
+                log.info("Пропуск почти-дубликата в категории {}: {}", normalizedCategory, title);
+                continue;
+            }
+
+            // Статью и изображение загружаем только для того, что действительно пойдёт в отправку
+            if (sentNewsRegistry.wasPosted(NewsItem.builder().url(link).guid(guid).build())
+                    && tenantDeliveries.postedForAll(normalizedCategory, link)) {
+                log.debug("Пропуск без загрузки статьи: уже отправляли - {}", title);
+                skippedAsSent++;
+                continue;
+            }
 
             log.debug("Обнаружена новость для категории {}: {}", normalizedCategory, title);
 
@@ -247,14 +447,19 @@ public class RssParserService {
                     .source(source)
                     .description(description)
                     .category(normalizedCategory)
+                    .feedUrl(rssUrl)
+                    .guid(guid)
+                    .pubDate(pubDate)
                     .build();
 
+            long enrichStartedAt = System.currentTimeMillis();
+
             CompletableFuture<String> imageFuture = imageUrlFromRss.isEmpty()
-                    ? extractImageFromArticleAsync(link)
+                    ? extractImageFromArticleAsync(link, normalizedCategory, deadline)
                     : CompletableFuture.completedFuture(imageUrlFromRss);
 
             CompletableFuture<String> descriptionFuture = (description.isEmpty() || description.length() < 100)
-                    ? extractFullDescriptionAsync(link)
+                    ? extractFullDescriptionAsync(link, normalizedCategory, deadline)
                     : CompletableFuture.completedFuture(description);
 
             CompletableFuture<NewsItem> newsItemFuture = imageFuture
@@ -263,11 +468,19 @@ public class RssParserService {
                                             .title(basicNewsItem.getTitle())
                                             .url(basicNewsItem.getUrl())
                                             .source(basicNewsItem.getSource())
-                                            .imageUrl(imageUrl)
+                                            .imageUrl(imageUrl == null || imageUrl.isBlank() ? null : imageUrl)
                                             .description(fullDescription)
                                             .category(basicNewsItem.getCategory())
+                                            .feedUrl(basicNewsItem.getFeedUrl())
+                                            .guid(basicNewsItem.getGuid())
+                                            .pubDate(basicNewsItem.getPubDate())
                                             .build()
-                            , asyncUtils.getCpuExecutor());
+                            , asyncUtils.getCpuExecutor())
+                    .whenComplete((newsItem, ex) -> {
+                        if (newsItem != null) {
+                            newsArchiveService.recordIngested(newsItem, System.currentTimeMillis() - enrichStartedAt);
+                        }
+                    });
 
             futureCategoryMap.put(normalizedCategory, newsItemFuture);
 
@@ -276,12 +489,19 @@ public class RssParserService {
                 break;
             }
         }
+        if (skippedAsSent > 0) {
+            log.info("Пропущено {} уже отправленных новостей из {} без загрузки статей", skippedAsSent, rssUrl);
+        }
+        parseEvent.items = items.size();
+        parseEvent.selected = futureCategoryMap.size();
+        parseEvent.finish("ok", rssPage.size());
 
         Map<String, NewsItem> result = new HashMap<>();
 
         List<CompletableFuture<?>> allFutures = new ArrayList<>(futureCategoryMap.values());
         try {
-            CompletableFuture.allOf(allFutures.toArray(new CompletableFuture[0])).get();
+            CompletableFuture.allOf(allFutures.toArray(new CompletableFuture[0]))
+                    .get(deadline.timeoutMillis(Long.MAX_VALUE), TimeUnit.MILLISECONDS);
 
             futureCategoryMap.forEach((category, future) -> {
                 try {
@@ -293,6 +513,8 @@ public class RssParserService {
                     log.error("Ошибка при получении данных для категории {}: {}", category, e.getMessage(), e);
                 }
             });
+        } catch (TimeoutException e) {
+            log.warn("Дедлайн цикла истёк при обогащении новостей из {}", rssUrl);
         } catch (InterruptedException | ExecutionException e) {
             log.error("Ошибка при ожидании всех задач: {}", e.getMessage(), e);
             Thread.currentThread().interrupt();
@@ -303,6 +525,58 @@ public class RssParserService {
         return result;
     }
 
+    private void updateWatermark(String rssUrl, Elements items) {
+        Instant previous = feedWatermarks.get(rssUrl);
+        Instant newest = previous;
+        List<Instant> newPubDates = new ArrayList<>();
+
+        for (Element item : items) {
+            Instant pubDate = parsePubDate(item.select("pubDate").text().trim());
+            if (pubDate == null) continue;
+            if (previous == null || pubDate.isAfter(previous)) newPubDates.add(pubDate);
+            if (newest == null || pubDate.isAfter(newest)) newest = pubDate;
+        }
+
+        if (newest != null) {
+            feedWatermarks.put(rssUrl, newest);
+        }
+        feedCadenceTracker.observe(rssUrl, newPubDates);
+        log.debug("Новых элементов в {} с прошлого опроса: {}", rssUrl, newPubDates.size());
+    }
+
+    /**
+     * Разбор элемента ленты без обогащения статьёй — для загрузки архивных лент с диска.
+     */
+    public NewsItem parseArchivedItem(Element item, String feedUrl) {
+        String imageUrl = item.select("enclosure[url]").attr("url");
+        return NewsItem.builder()
+                .title(item.select("title").text())
+                .url(item.select("link").text())
+                .source(getSourceName(item.select("link").text()))
+                .imageUrl(imageUrl.isEmpty() || DEFAULT_IMAGE_PATTERN.matcher(imageUrl).matches() ? null : imageUrl)
+                .description(item.select("description").text().trim())
+                .category(normalizeCategory(item.select("category").text().trim()))
+                .feedUrl(feedUrl)
+                .guid(item.select("guid").text().trim())
+                .pubDate(parsePubDate(item.select("pubDate").text().trim()))
+                .build();
+    }
+
+    private String normalizeCategory(String category) {
+        String normalizedCategory = newsChannelConfig.getEnglishCategory(category);
+        return normalizedCategory != null ? normalizedCategory : category.toLowerCase();
+    }
+
+    private Instant parsePubDate(String pubDate) {
+        if (pubDate.isEmpty()) return null;
+        try {
+            return ZonedDateTime.parse(pubDate, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+        } catch (DateTimeParseException e) {
+            log.debug("Не удалось разобрать дату публикации: {}", pubDate);
+            return null;
+        }
+    }
+
     private String getSourceName(String rssUrl) {
         if (rssUrl.contains("lenta.ru")) return "Lenta.ru";
         return "Другой источник";
@@ -0,0 +1,106 @@
+package ru.gang.newsBot.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.gang.newsBot.model.NewsItem;
+import ru.gang.newsBot.util.AsyncUtils;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Отправленные новости основного бота: парсер сверяется с ним до загрузки статей, бот — перед отправкой.
+ * Хранится в файле news.sent-news-file и в снимке состояния.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SentNewsRegistry implements SnapshotParticipant {
+    private final AsyncUtils asyncUtils;
+    private final NewsArchiveService newsArchiveService;
+    private final NearDuplicateDetector nearDuplicateDetector;
+
+    private static final int MAX_CHECKED = 10000;
+
+    private SentUrlStore sentNews;
+    // Адреса, которых в архиве не нашлось, и время проверки: отправка не повторяет запрос парсера
+    private final Map<String, Long> checkedUnsent = new ConcurrentHashMap<>();
+
+    @Value("${news.sent-news-file:sent_news.txt}") private String sentNewsFile;
+    @Value("${news.archive.checked-ttl-ms:600000}") private long checkedTtlMs;
+
+    @PostConstruct
+    public void init() {
+        sentNews = new SentUrlStore(sentNewsFile, asyncUtils);
+        sentNews.load();
+    }
+
+    @Override
+    public String snapshotKey() {
+        return "sentNews";
+    }
+
+    @Override
+    public Serializable captureSnapshot() {
+        return sentNews.snapshot();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restoreSnapshot(Serializable state) {
+        sentNews.addAll((Set<String>) state);
+        log.info("Восстановлено {} отправленных новостей из снимка", sentNews.size());
+    }
+
+    public boolean contains(String url) {
+        return sentNews.contains(url);
+    }
+
+    /**
+     * Проверка по памяти, затем по архиву. Найденное в архиве запоминается навсегда, ненайденное -
+     * на news.archive.checked-ttl-ms, чтобы отправка в том же цикле не ходила в БД повторно.
+     */
+    public boolean wasPosted(NewsItem news) {
+        String url = news.getUrl();
+        if (sentNews.contains(url)) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        Long checkedAt = checkedUnsent.get(url);
+        if (checkedAt != null && now - checkedAt < checkedTtlMs) {
+            return false;
+        }
+        if (newsArchiveService.wasPosted(news)) {
+            sentNews.add(url);
+            checkedUnsent.remove(url);
+            return true;
+        }
+        if (checkedUnsent.size() >= MAX_CHECKED) {
+            checkedUnsent.values().removeIf(at -> now - at >= checkedTtlMs);
+        }
+        if (checkedUnsent.size() < MAX_CHECKED) {
+            checkedUnsent.put(url, now);
+        }
+        return false;
+    }
+
+    public void markSent(String url) {
+        markSent(List.of(url));
+    }
+
+    public void markSent(Collection<String> urls) {
+        sentNews.addAll(urls);
+        urls.forEach(url -> {
+            checkedUnsent.remove(url);
+            nearDuplicateDetector.markPublished(url);
+        });
+        sentNews.save();
+    }
+}
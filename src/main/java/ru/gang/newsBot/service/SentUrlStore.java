@@ -0,0 +1,87 @@
+package ru.gang.newsBot.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.gang.newsBot.util.AsyncUtils;
+import ru.gang.newsBot.util.Workload;
+
+import java.io.*;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Множество отправленных URL с сохранением в текстовый файл, по URL на строку.
+ * Файл перезаписывается целиком в пуле persist; запросы на сохранение, пришедшие
+ * пока запись ждёт в очереди, объединяются в одну.
+ */
+@Slf4j
+public class SentUrlStore {
+    private final String file;
+    private final AsyncUtils asyncUtils;
+    private final Set<String> urls = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+
+    public SentUrlStore(String file, AsyncUtils asyncUtils) {
+        this.file = file;
+        this.asyncUtils = asyncUtils;
+    }
+
+    public void load() {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                urls.add(line.trim());
+            }
+            log.debug("Загружено {} отправленных ранее новостей из {}", urls.size(), file);
+        } catch (IOException e) {
+            log.info("Файл отправленных новостей {} не найден. Создаём новый.", file);
+        }
+    }
+
+    public boolean contains(String url) {
+        return urls.contains(url);
+    }
+
+    public void add(String url) {
+        urls.add(url);
+    }
+
+    public void addAll(Collection<String> newUrls) {
+        urls.addAll(newUrls);
+    }
+
+    public int size() {
+        return urls.size();
+    }
+
+    public HashSet<String> snapshot() {
+        return new HashSet<>(urls);
+    }
+
+    public void save() {
+        dirty.set(true);
+        if (!saveScheduled.compareAndSet(false, true)) return;
+        // Если задачу отклонили, следующий save() запланирует запись заново
+        asyncUtils.asyncRun(Workload.PERSIST, this::writeIfDirty, "Сохранение отправленных новостей")
+                .whenComplete((v, ex) -> saveScheduled.set(false));
+    }
+
+    private void writeIfDirty() {
+        // Изменения, пришедшие во время записи, запланируют ещё одну
+        saveScheduled.set(false);
+        if (!dirty.getAndSet(false)) return;
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            for (String newsUrl : urls) {
+                writer.write(newsUrl);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            dirty.set(true);
+            log.error("Ошибка при сохранении отправленных новостей в {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package ru.gang.newsBot.service;
+
+import java.io.Serializable;
+
+public interface SnapshotParticipant {
+
+    String snapshotKey();
+
+    Serializable captureSnapshot();
+
+    void restoreSnapshot(Serializable state);
+}
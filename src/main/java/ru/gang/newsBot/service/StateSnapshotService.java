@@ -0,0 +1,99 @@
+package ru.gang.newsBot.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.gang.newsBot.config.SnapshotConfig;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@Lazy(false)
+@RequiredArgsConstructor
+public class StateSnapshotService {
+    private final SnapshotConfig snapshotConfig;
+    private final List<SnapshotParticipant> participants;
+
+    private static final ObjectInputFilter SNAPSHOT_FILTER = ObjectInputFilter.Config.createFilter(
+            "java.lang.*;java.util.*;java.time.*;ru.gang.newsBot.**;!*");
+
+    @PostConstruct
+    public void restore() {
+        if (!snapshotConfig.isEnabled()) return;
+
+        Path path = Paths.get(snapshotConfig.getPath());
+        if (!Files.exists(path)) {
+            log.info("Снимок состояния {} не найден, запускаемся с пустым состоянием", path);
+            return;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            in.setObjectInputFilter(SNAPSHOT_FILTER);
+            @SuppressWarnings("unchecked")
+            Map<String, Serializable> states = (Map<String, Serializable>) in.readObject();
+
+            for (SnapshotParticipant participant : participants) {
+                Serializable state = states.get(participant.snapshotKey());
+                if (state == null) continue;
+                try {
+                    participant.restoreSnapshot(state);
+                } catch (Exception e) {
+                    log.warn("Не удалось восстановить состояние {}: {}", participant.snapshotKey(), e.getMessage());
+                }
+            }
+            log.info("Состояние восстановлено из {} за {} мс: {}", path,
+                    System.currentTimeMillis() - startedAt, states.keySet());
+        } catch (Exception e) {
+            log.error("Ошибка при чтении снимка состояния {}: {}", path, e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${news.snapshot.interval-ms:300000}",
+            initialDelayString = "${news.snapshot.interval-ms:300000}")
+    public void snapshotPeriodically() {
+        save();
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        save();
+    }
+
+    public synchronized void save() {
+        if (!snapshotConfig.isEnabled()) return;
+
+        Map<String, Serializable> states = new HashMap<>();
+        for (SnapshotParticipant participant : participants) {
+            try {
+                states.put(participant.snapshotKey(), participant.captureSnapshot());
+            } catch (Exception e) {
+                log.warn("Не удалось снять состояние {}: {}", participant.snapshotKey(), e.getMessage());
+            }
+        }
+
+        Path path = Paths.get(snapshotConfig.getPath()).toAbsolutePath();
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                out.writeObject(new HashMap<>(states));
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Снимок состояния сохранён в {}: {}", path, states.keySet());
+        } catch (IOException e) {
+            log.error("Ошибка при сохранении снимка состояния {}: {}", path, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.gang.newsBot.tracing;
+
+import lombok.Getter;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Спаны одного цикла. Их число ограничено maxSpans: лишние не сохраняются, а только считаются.
+ */
+@Getter
+public class CycleTrace {
+    private final String traceId;
+    private final long startedAtMillis;
+    private final long startedAtNanos;
+    private final int maxSpans;
+    private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+    private final AtomicLong spanIds = new AtomicLong();
+    private final AtomicInteger recordedSpans = new AtomicInteger();
+    private final AtomicLong droppedSpans = new AtomicLong();
+    private volatile Span root;
+
+    CycleTrace(String traceId, int maxSpans) {
+        this.traceId = traceId;
+        this.maxSpans = maxSpans;
+        this.startedAtMillis = System.currentTimeMillis();
+        this.startedAtNanos = System.nanoTime();
+    }
+
+    Span newSpan(String name, Span parent) {
+        if (recordedSpans.incrementAndGet() > maxSpans) {
+            recordedSpans.decrementAndGet();
+            droppedSpans.incrementAndGet();
+            return Span.NOOP;
+        }
+        Span span = new Span(this, spanIds.incrementAndGet(), parent != null ? parent.getId() : 0, name);
+        if (parent == null && root == null) {
+            root = span;
+        }
+        spans.add(span);
+        return span;
+    }
+}
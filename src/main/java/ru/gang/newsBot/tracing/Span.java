@@ -0,0 +1,102 @@
+package ru.gang.newsBot.tracing;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Getter
+public class Span {
+    static final Span NOOP = new Span(null, 0, 0, "noop");
+
+    private final CycleTrace trace;
+    private final long id;
+    private final long parentId;
+    private final String name;
+    private final String threadName;
+    private final long startNanos;
+    private final Map<String, String> attributes = new ConcurrentHashMap<>();
+    private volatile long endNanos;
+    private volatile String status = "ok";
+
+    Span(CycleTrace trace, long id, long parentId, String name) {
+        this.trace = trace;
+        this.id = id;
+        this.parentId = parentId;
+        this.name = name;
+        this.threadName = Thread.currentThread().getName();
+        this.startNanos = System.nanoTime();
+    }
+
+    public boolean isNoop() {
+        return trace == null;
+    }
+
+    public Span attr(String key, Object value) {
+        if (!isNoop() && value != null) {
+            attributes.put(key, String.valueOf(value));
+        }
+        return this;
+    }
+
+    public Span error(Throwable error) {
+        if (!isNoop()) {
+            status = "error";
+            attr("error", error.getClass().getSimpleName() + ": " + error.getMessage());
+        }
+        return this;
+    }
+
+    public Span status(String status) {
+        if (!isNoop()) {
+            this.status = status;
+        }
+        return this;
+    }
+
+    public TraceScope activate() {
+        return TraceContext.activate(this);
+    }
+
+    /**
+     * Выполняет {@code action} с этим спаном в качестве текущего.
+     */
+    public void run(Runnable action) {
+        TraceScope scope = activate();
+        try {
+            action.run();
+        } finally {
+            scope.close();
+        }
+    }
+
+    public <T> T call(Supplier<T> action) {
+        TraceScope scope = activate();
+        try {
+            return action.get();
+        } finally {
+            scope.close();
+        }
+    }
+
+    public void end() {
+        if (!isNoop() && endNanos == 0) {
+            endNanos = System.nanoTime();
+        }
+    }
+
+    public boolean isEnded() {
+        return endNanos != 0;
+    }
+
+    public long offsetMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(startNanos - trace.getStartedAtNanos());
+    }
+
+    public long durationMillis() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+}
@@ -0,0 +1,35 @@
+package ru.gang.newsBot.tracing;
+
+public final class TraceContext {
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private TraceContext() {
+    }
+
+    public static Span current() {
+        Span span = CURRENT.get();
+        return span != null ? span : Span.NOOP;
+    }
+
+    public static TraceScope activate(Span span) {
+        Span previous = CURRENT.get();
+        if (span == null || span.isNoop()) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(span);
+        }
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public static Runnable wrap(Runnable runnable) {
+        Span captured = CURRENT.get();
+        if (captured == null) return runnable;
+        return () -> captured.run(runnable);
+    }
+}
@@ -0,0 +1,11 @@
+package ru.gang.newsBot.tracing;
+
+import org.springframework.core.task.TaskDecorator;
+
+public class TraceContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TraceContext.wrap(runnable);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.gang.newsBot.tracing;
+
+public interface TraceScope extends AutoCloseable {
+
+    @Override
+    void close();
+}
@@ -0,0 +1,48 @@
+package ru.gang.newsBot.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class Tracer {
+
+    @Value("${news.tracing.enabled:true}") private boolean enabled;
+    @Value("${news.tracing.max-cycles:20}") private int maxCycles;
+    @Value("${news.tracing.max-spans-per-cycle:2000}") private int maxSpansPerCycle;
+
+    private final Deque<CycleTrace> recentCycles = new ArrayDeque<>();
+
+    public Span startCycle(String name) {
+        if (!enabled) return Span.NOOP;
+
+        CycleTrace trace = new CycleTrace(UUID.randomUUID().toString().substring(0, 8), maxSpansPerCycle);
+        synchronized (recentCycles) {
+            recentCycles.addLast(trace);
+            while (recentCycles.size() > maxCycles) {
+                recentCycles.pollFirst();
+            }
+        }
+        log.debug("Начата трассировка цикла {}", trace.getTraceId());
+        return trace.newSpan(name, null);
+    }
+
+    public Span startSpan(String name) {
+        Span parent = TraceContext.current();
+        if (parent.isNoop()) return Span.NOOP;
+        return parent.getTrace().newSpan(name, parent);
+    }
+
+    public List<CycleTrace> getRecentCycles() {
+        synchronized (recentCycles) {
+            return new ArrayList<>(recentCycles);
+        }
+    }
+}
@@ -6,8 +6,15 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -15,25 +22,76 @@ import java.util.function.Supplier;
 @Component
 public class AsyncUtils {
 
-    @Getter private final Executor ioExecutor;
     @Getter private final Executor cpuExecutor;
+    private final ScheduledExecutorService schedulerExecutor;
+    private final Map<Workload, Executor> workloadExecutors = new EnumMap<>(Workload.class);
 
     @Value("${thread-pool.default-timeout-seconds:30}")
     private int defaultTimeoutSeconds;
 
     public AsyncUtils(
-            @Qualifier("ioTaskExecutor") Executor ioExecutor,
-            @Qualifier("cpuTaskExecutor") Executor cpuExecutor) {
-        this.ioExecutor = ioExecutor;
+            @Qualifier("cpuTaskExecutor") Executor cpuExecutor,
+            @Qualifier("schedulerExecutor") ScheduledExecutorService schedulerExecutor,
+            @Qualifier("feedTaskExecutor") Executor feedExecutor,
+            @Qualifier("scrapeTaskExecutor") Executor scrapeExecutor,
+            @Qualifier("sendTaskExecutor") Executor sendExecutor,
+            @Qualifier("persistTaskExecutor") Executor persistExecutor,
+            @Qualifier("pollTaskExecutor") Executor pollExecutor) {
         this.cpuExecutor = cpuExecutor;
+        this.schedulerExecutor = schedulerExecutor;
+        workloadExecutors.put(Workload.FEED, feedExecutor);
+        workloadExecutors.put(Workload.SCRAPE, scrapeExecutor);
+        workloadExecutors.put(Workload.SEND, sendExecutor);
+        workloadExecutors.put(Workload.PERSIST, persistExecutor);
+        workloadExecutors.put(Workload.POLL, pollExecutor);
     }
 
-    public <T> CompletableFuture<T> asyncIo(Supplier<T> supplier, String operationName) {
-        return CompletableFuture.supplyAsync(supplier, ioExecutor)
-                .orTimeout(defaultTimeoutSeconds, TimeUnit.SECONDS)
+    public Executor getExecutor(Workload workload) {
+        return workloadExecutors.get(workload);
+    }
+
+    public CycleDeadline startDeadline(long timeoutMs) {
+        CycleDeadline deadline = CycleDeadline.after(timeoutMs);
+        deadline.setExpiryTimer(schedulerExecutor.schedule(deadline::cancelOutstanding, timeoutMs, TimeUnit.MILLISECONDS));
+        return deadline;
+    }
+
+    /**
+     * Пауза без занятого потока: завершается по таймеру планировщика или отменяется дедлайном.
+     */
+    public CompletableFuture<Void> delay(long delayMs, CycleDeadline deadline) {
+        CompletableFuture<Void> delay = new CompletableFuture<>();
+        deadline.track(delay);
+        schedulerExecutor.schedule(() -> delay.complete(null), delayMs, TimeUnit.MILLISECONDS);
+        return delay.whenComplete((v, ex) -> deadline.untrack(delay));
+    }
+
+    public <T> CompletableFuture<T> asyncIo(Workload workload, Supplier<T> supplier, String operationName,
+                                            CycleDeadline deadline) {
+        return asyncIo(getExecutor(workload), supplier, operationName, deadline);
+    }
+
+    private <T> CompletableFuture<T> asyncIo(Executor executor, Supplier<T> supplier, String operationName,
+                                             CycleDeadline deadline) {
+        if (deadline.isExpired()) {
+            log.warn("Пропуск {}: дедлайн цикла уже истёк", operationName);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long timeoutMs = deadline.isBounded()
+                ? deadline.remainingMillis()
+                : TimeUnit.SECONDS.toMillis(defaultTimeoutSeconds);
+
+        return submitCancellable(supplier, executor, deadline)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
                 .exceptionally(ex -> {
-                    if (ex.getCause() instanceof java.util.concurrent.TimeoutException) {
-                        log.error("Таймаут при выполнении {}: превышено {} секунд", operationName, defaultTimeoutSeconds);
+                    Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                    if (cause instanceof java.util.concurrent.TimeoutException) {
+                        log.error("Таймаут при выполнении {}: превышено {} мс", operationName, timeoutMs);
+                    } else if (cause instanceof CancellationException) {
+                        log.warn("Операция {} отменена по дедлайну цикла", operationName);
+                    } else if (cause instanceof RejectedExecutionException) {
+                        log.warn("Операция {} отклонена: очередь пула переполнена", operationName);
                     } else {
                         log.error("Ошибка при выполнении {}: {}", operationName, ex.getMessage(), ex);
                     }
@@ -41,12 +99,53 @@ public class AsyncUtils {
                 });
     }
 
-    public CompletableFuture<Void> asyncIoRun(Runnable runnable) {
-        return asyncRun(runnable, ioExecutor, "IO-операция");
+    public CompletableFuture<Void> asyncIoRun(Workload workload, Runnable runnable, String operationName,
+                                              CycleDeadline deadline) {
+        return asyncIo(workload, () -> {
+            runnable.run();
+            return null;
+        }, operationName, deadline);
+    }
+
+    public CompletableFuture<Void> asyncRun(Workload workload, Runnable runnable, String operationName) {
+        return asyncRun(runnable, getExecutor(workload), operationName);
+    }
+
+    private <T> CompletableFuture<T> submitCancellable(Supplier<T> supplier, Executor executor, CycleDeadline deadline) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                result.complete(supplier.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }, null);
+
+        deadline.track(result);
+        result.whenComplete((value, ex) -> {
+            deadline.untrack(result);
+            if (ex != null) {
+                task.cancel(true);
+            }
+        });
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
     }
 
     private CompletableFuture<Void> asyncRun(Runnable runnable, Executor executor, String operationName) {
-        return CompletableFuture.runAsync(runnable, executor)
+        CompletableFuture<Void> future;
+        try {
+            future = CompletableFuture.runAsync(runnable, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Операция {} отклонена: очередь пула переполнена", operationName);
+            return CompletableFuture.completedFuture(null);
+        }
+        return future
                 .orTimeout(defaultTimeoutSeconds, TimeUnit.SECONDS)
                 .exceptionally(ex -> {
                     if (ex.getCause() instanceof java.util.concurrent.TimeoutException) {
@@ -57,4 +156,4 @@ public class AsyncUtils {
                     return null;
                 });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package ru.gang.newsBot.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class CycleDeadline {
+    private static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final long deadlineNanos;
+    private final Set<Future<?>> trackedTasks = ConcurrentHashMap.newKeySet();
+    private volatile Future<?> expiryTimer;
+    private volatile boolean cancelled;
+
+    private CycleDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static CycleDeadline after(long timeoutMs) {
+        return new CycleDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+    }
+
+    public static CycleDeadline unbounded() {
+        return new CycleDeadline(UNBOUNDED);
+    }
+
+    public boolean isBounded() {
+        return deadlineNanos != UNBOUNDED;
+    }
+
+    public long remainingMillis() {
+        if (!isBounded()) return Long.MAX_VALUE;
+        if (cancelled) return 0;
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return remainingMillis() <= 0;
+    }
+
+    public int timeoutMillis(int preferredTimeoutMs) {
+        return (int) Math.max(1, Math.min(preferredTimeoutMs, remainingMillis()));
+    }
+
+    public long timeoutMillis(long preferredTimeoutMs) {
+        return Math.max(1, Math.min(preferredTimeoutMs, remainingMillis()));
+    }
+
+    public void track(Future<?> task) {
+        trackedTasks.add(task);
+        if (cancelled) {
+            task.cancel(true);
+        }
+    }
+
+    public void untrack(Future<?> task) {
+        trackedTasks.remove(task);
+    }
+
+    void setExpiryTimer(Future<?> expiryTimer) {
+        this.expiryTimer = expiryTimer;
+    }
+
+    public void cancelOutstanding() {
+        cancelled = true;
+        int outstanding = trackedTasks.size();
+        if (outstanding > 0) {
+            log.warn("Дедлайн цикла истёк, отменяем {} незавершённых задач", outstanding);
+        }
+        trackedTasks.forEach(task -> task.cancel(true));
+        trackedTasks.clear();
+    }
+
+    public void complete() {
+        Future<?> timer = expiryTimer;
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        trackedTasks.clear();
+    }
+}
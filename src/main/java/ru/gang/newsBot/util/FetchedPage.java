@@ -0,0 +1,43 @@
+package ru.gang.newsBot.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.parser.Parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.regex.Pattern;
+
+/**
+ * Тело ответа, загруженное без разбора. DOM строится отдельно через {@link #parse()},
+ * чтобы сетевые потоки не занимались разбором.
+ */
+@Getter
+@RequiredArgsConstructor
+public class FetchedPage {
+    // То же правило, по которому Jsoup выбирает XML-парсер при загрузке
+    private static final Pattern XML_CONTENT_TYPE = Pattern.compile("(application|text)/\\w*\\+?xml.*");
+
+    private final String url;
+    private final byte[] body;
+    private final String contentType;
+    private final String charset;
+
+    public int size() {
+        return body.length;
+    }
+
+    public Document parse() {
+        Parser parser = contentType != null && XML_CONTENT_TYPE.matcher(contentType).matches()
+                ? Parser.xmlParser()
+                : Parser.htmlParser();
+        try {
+            return Jsoup.parse(new ByteArrayInputStream(body), charset, url, parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
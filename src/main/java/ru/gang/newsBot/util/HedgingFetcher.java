@@ -0,0 +1,243 @@
+package ru.gang.newsBot.util;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import ru.gang.newsBot.config.HedgingConfig;
+import ru.gang.newsBot.service.SnapshotParticipant;
+import ru.gang.newsBot.tracing.Span;
+import ru.gang.newsBot.tracing.TraceContext;
+import ru.gang.newsBot.util.HttpRequestUtil.RequestConfig;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Component
+public class HedgingFetcher implements SnapshotParticipant {
+    private final HedgingConfig hedgingConfig;
+    private final RetryingFetcher retryingFetcher;
+    private final Executor hedgeExecutor;
+    private final ScheduledExecutorService schedulerExecutor;
+
+    private final Map<String, HostLatency> latencies = new ConcurrentHashMap<>();
+    private final HedgeBudget budget = new HedgeBudget();
+
+    @Getter private final AtomicLong hedgesIssued = new AtomicLong();
+    @Getter private final AtomicLong hedgesWon = new AtomicLong();
+
+    public HedgingFetcher(HedgingConfig hedgingConfig, RetryingFetcher retryingFetcher,
+                          @Qualifier("hedgeTaskExecutor") Executor hedgeExecutor,
+                          @Qualifier("schedulerExecutor") ScheduledExecutorService schedulerExecutor) {
+        this.hedgingConfig = hedgingConfig;
+        this.retryingFetcher = retryingFetcher;
+        this.hedgeExecutor = hedgeExecutor;
+        this.schedulerExecutor = schedulerExecutor;
+    }
+
+    @Override
+    public String snapshotKey() {
+        return "hostLatencies";
+    }
+
+    @Override
+    public Serializable captureSnapshot() {
+        HashMap<String, long[]> snapshot = new HashMap<>();
+        latencies.forEach((host, latency) -> snapshot.put(host, latency.samples()));
+        return snapshot;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restoreSnapshot(Serializable state) {
+        ((Map<String, long[]>) state).forEach((host, samples) -> {
+            HostLatency latency = latencies.computeIfAbsent(host, h -> new HostLatency(hedgingConfig.getWindowSize()));
+            for (long sample : samples) {
+                latency.record(sample);
+            }
+        });
+    }
+
+    /**
+     * Загрузка с повторами, где хеджируется отдельная попытка, а не весь цикл повторов:
+     * паузы Retry-After ждут на планировщике и второй запрос не порождают. Попытки без хеджа
+     * выполняются на {@code executor}, хеджируемые - на отдельном пуле без очереди.
+     */
+    public CompletableFuture<FetchedPage> fetchPageAsync(String url, RequestConfig config, CycleDeadline deadline,
+                                                         Executor executor) {
+        HostLatency latency = latencies.computeIfAbsent(hostOf(url), h -> new HostLatency(hedgingConfig.getWindowSize()));
+        if (hedgingConfig.isEnabled()) {
+            budget.deposit(hedgingConfig.getBudgetRatio(), hedgingConfig.getMaxBudgetTokens());
+        }
+        Span span = TraceContext.current();
+        return retryingFetcher.fetchPageAsync(url, config, deadline,
+                (timeoutMs, attempt) -> attempt(url, timeoutMs, attempt, latency, deadline, executor, span));
+    }
+
+    private CompletableFuture<FetchedPage> attempt(String url, int timeoutMs, int attempt, HostLatency latency,
+                                                   CycleDeadline deadline, Executor executor, Span span) {
+        long hedgeDelayMs = hedgingConfig.isEnabled()
+                ? latency.percentile(hedgingConfig.getPercentile(), hedgingConfig.getMinSamples())
+                : -1;
+        if (hedgeDelayMs < 0 || hedgeDelayMs >= deadline.remainingMillis()) {
+            return CompletableFuture.supplyAsync(() -> timedAttempt(url, timeoutMs, attempt, latency), executor);
+        }
+
+        HedgedAttempt hedged = new HedgedAttempt(url, timeoutMs, attempt, latency, deadline, span);
+        try {
+            hedgeExecutor.execute(() -> hedged.run(false));
+        } catch (RejectedExecutionException e) {
+            log.debug("Пул хеджирования занят, запрос {} идёт без хеджа", url);
+            return CompletableFuture.supplyAsync(() -> timedAttempt(url, timeoutMs, attempt, latency), executor);
+        }
+
+        ScheduledFuture<?> timer = schedulerExecutor.schedule(hedged::hedge,
+                Math.max(hedgeDelayMs, hedgingConfig.getMinDelayMs()), TimeUnit.MILLISECONDS);
+        hedged.result.whenComplete((page, ex) -> timer.cancel(false));
+        return hedged.result;
+    }
+
+    private FetchedPage timedAttempt(String url, int timeoutMs, int attempt, HostLatency latency) {
+        long startedAt = System.nanoTime();
+        try {
+            FetchedPage page = HttpRequestUtil.fetchPageOnce(url, timeoutMs, attempt);
+            latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            return page;
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Основная попытка и, если она не ответила за перцентиль задержки хоста, одна хеджирующая.
+     * Проигравшая попытка не прерывается, но ограничена таймаутом одной попытки.
+     */
+    private class HedgedAttempt {
+        private final String url;
+        private final int timeoutMs;
+        private final int attempt;
+        private final HostLatency latency;
+        private final CycleDeadline deadline;
+        private final Span span;
+
+        private final CompletableFuture<FetchedPage> result = new CompletableFuture<>();
+        private final AtomicInteger running = new AtomicInteger(1);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        HedgedAttempt(String url, int timeoutMs, int attempt, HostLatency latency, CycleDeadline deadline, Span span) {
+            this.url = url;
+            this.timeoutMs = timeoutMs;
+            this.attempt = attempt;
+            this.latency = latency;
+            this.deadline = deadline;
+            this.span = span;
+        }
+
+        void run(boolean hedge) {
+            try {
+                if (result.isDone()) return;
+                FetchedPage page = timedAttempt(url, timeoutMs, attempt, latency);
+                if (result.complete(page) && hedge) {
+                    hedgesWon.incrementAndGet();
+                    span.attr("hedgeWon", true);
+                }
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            } finally {
+                finishOne();
+            }
+        }
+
+        void hedge() {
+            if (result.isDone() || deadline.isExpired()) return;
+            if (!budget.tryAcquire()) {
+                log.debug("Бюджет хеджирования исчерпан, ждём основной запрос: {}", url);
+                return;
+            }
+
+            running.incrementAndGet();
+            try {
+                hedgeExecutor.execute(() -> run(true));
+            } catch (RejectedExecutionException e) {
+                log.debug("Пул хеджирования занят, ждём основной запрос: {}", url);
+                finishOne();
+                return;
+            }
+            hedgesIssued.incrementAndGet();
+            span.attr("hedged", true);
+            log.debug("Запрос {} не ответил вовремя, запущена хеджирующая попытка", url);
+        }
+
+        private void finishOne() {
+            if (running.decrementAndGet() == 0 && !result.isDone()) {
+                Throwable error = failure.get();
+                result.completeExceptionally(error != null ? error : new IOException("Попытка к " + url + " не выполнена"));
+            }
+        }
+    }
+
+    private String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static class HostLatency {
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        HostLatency(int windowSize) {
+            this.samples = new long[Math.max(1, windowSize)];
+        }
+
+        synchronized void record(long latencyMs) {
+            samples[next] = latencyMs;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) count++;
+        }
+
+        synchronized long[] samples() {
+            long[] result = new long[count];
+            int start = (next - count + samples.length) % samples.length;
+            for (int i = 0; i < count; i++) {
+                result[i] = samples[(start + i) % samples.length];
+            }
+            return result;
+        }
+
+        synchronized long percentile(double percentile, int minSamples) {
+            if (count < minSamples || count == 0) return -1;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            return sorted[Math.max(0, Math.min(index, count - 1))];
+        }
+    }
+
+    private static class HedgeBudget {
+        private double tokens;
+
+        synchronized void deposit(double amount, double maxTokens) {
+            tokens = Math.min(maxTokens, tokens + amount);
+        }
+
+        synchronized boolean tryAcquire() {
+            if (tokens < 1.0) return false;
+            tokens -= 1.0;
+            return true;
+        }
+    }
+}
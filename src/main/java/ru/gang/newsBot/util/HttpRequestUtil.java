@@ -2,14 +2,15 @@ package ru.gang.newsBot.util;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
+import ru.gang.newsBot.jfr.HttpFetchEvent;
+import ru.gang.newsBot.jfr.NewsEvent;
 
+import java.io.IOException;
 import java.net.SocketTimeoutException;
-import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class HttpRequestUtil {
@@ -22,39 +23,62 @@ public class HttpRequestUtil {
         private int maxTimeoutMs;
     }
 
-    @SneakyThrows
-    public static Document fetchWithRetry(String url, RequestConfig config) {
-        int retries = 0;
-        int currentTimeout = config.initialTimeoutMs;
-        Exception lastException = null;
-
-        while (retries <= config.maxRetries) {
-            try {
-                Connection connection = Jsoup.connect(url)
-                        .userAgent("Mozilla/5.0")
-                        .timeout(currentTimeout);
-                return connection.get();
-            } catch (SocketTimeoutException e) {
-                lastException = e;
-                log.debug("Таймаут при попытке #{}: {}", retries + 1, e.getMessage());
-
-                if (++retries <= config.maxRetries) {
-                    int backoffMs = (int) Math.min(currentTimeout * 1.5, config.maxTimeoutMs);
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(1000);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw ie;
-                    }
-                    currentTimeout = backoffMs;
-                }
-            } catch (Exception e) {
-                log.error("Ошибка при запросе {}: {}", url, e.getMessage());
-                throw e;
+    @Getter
+    public static class HttpResponseException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final int statusCode;
+        private final String retryAfter;
+
+        public HttpResponseException(String url, int statusCode, String retryAfter) {
+            super("HTTP " + statusCode + " при запросе " + url);
+            this.statusCode = statusCode;
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    /**
+     * Одна попытка без повторов; HTTP-ошибки превращаются в {@link HttpResponseException} с Retry-After.
+     */
+    public static Document fetchOnce(String url, int timeoutMs) throws IOException {
+        return fetchPageOnce(url, timeoutMs, 1).parse();
+    }
+
+    /**
+     * Одна попытка без разбора: тело ответа возвращается как есть.
+     */
+    public static FetchedPage fetchPageOnce(String url, int timeoutMs, int attempt) throws IOException {
+        HttpFetchEvent event = new HttpFetchEvent();
+        event.url(url).attempt(attempt);
+        event.begin();
+        try {
+            Connection.Response response = Jsoup.connect(url)
+                    .userAgent("Mozilla/5.0")
+                    .timeout(timeoutMs)
+                    .ignoreHttpErrors(true)
+                    .execute();
+            event.statusCode = response.statusCode();
+
+            if (response.statusCode() >= 400) {
+                event.finish("http_" + response.statusCode());
+                throw new HttpResponseException(url, response.statusCode(), response.header("Retry-After"));
             }
+            byte[] body = response.bodyAsBytes();
+            event.finish("ok", body.length);
+            return new FetchedPage(response.url().toExternalForm(), body, response.contentType(), response.charset());
+        } catch (HttpResponseException e) {
+            throw e;
+        } catch (IOException e) {
+            event.finish(NewsEvent.outcomeOf(e));
+            throw e;
         }
+    }
 
-        log.warn("Все попытки исчерпаны ({}) для URL: {}", config.maxRetries, url);
-        throw lastException;
+    static int nextTimeout(int currentTimeout, Throwable error, RequestConfig config) {
+        // Таймаут увеличиваем только если упёрлись в него
+        if (error instanceof SocketTimeoutException) {
+            return (int) Math.min(currentTimeout * 1.5, config.maxTimeoutMs);
+        }
+        return currentTimeout;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package ru.gang.newsBot.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import ru.gang.newsBot.config.RssConfig;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Разбор загруженных страниц и извлечение данных на CPU-пуле. Семафор ограничивает число
+ * одновременно живущих DOM; сетевые потоки разрешения не ждут: страница без свободного
+ * разрешения встаёт в очередь и уходит в разбор, когда закончится один из текущих.
+ */
+@Slf4j
+@Component
+public class PageParser {
+    private final Executor cpuExecutor;
+    private final Semaphore permits;
+    private final Queue<PendingParse<?>> waiting = new ConcurrentLinkedQueue<>();
+
+    private record PendingParse<T>(FetchedPage page, Function<Document, T> extractor, CompletableFuture<T> result) {
+    }
+
+    public PageParser(@Qualifier("cpuTaskExecutor") Executor cpuExecutor, RssConfig rssConfig) {
+        this.cpuExecutor = cpuExecutor;
+        int maxConcurrent = rssConfig.getMaxConcurrentParses() > 0
+                ? rssConfig.getMaxConcurrentParses()
+                : Runtime.getRuntime().availableProcessors();
+        this.permits = new Semaphore(maxConcurrent);
+        log.info("Одновременный разбор страниц ограничен {} задачами", maxConcurrent);
+    }
+
+    public <T> CompletableFuture<T> parseAsync(FetchedPage page, Function<Document, T> extractor,
+                                               CycleDeadline deadline) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Дедлайн отменяет и ожидающие в очереди разборы: они будут пропущены без разрешения
+        deadline.track(result);
+        result.whenComplete((value, ex) -> deadline.untrack(result));
+
+        waiting.add(new PendingParse<>(page, extractor, result));
+        startWaiting();
+        return result;
+    }
+
+    private void startWaiting() {
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            PendingParse<?> next = waiting.poll();
+            while (next != null && next.result().isDone()) {
+                next = waiting.poll();
+            }
+            if (next == null) {
+                permits.release();
+                continue;
+            }
+            start(next);
+        }
+    }
+
+    private <T> void start(PendingParse<T> pending) {
+        CompletableFuture.supplyAsync(() -> pending.extractor().apply(pending.page().parse()), cpuExecutor)
+                .whenComplete((value, ex) -> {
+                    permits.release();
+                    startWaiting();
+                    if (ex != null) {
+                        pending.result().completeExceptionally(
+                                ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                    } else {
+                        pending.result().complete(value);
+                    }
+                });
+    }
+
+    public <T> T parse(FetchedPage page, Function<Document, T> extractor, CycleDeadline deadline) throws Exception {
+        try {
+            return parseAsync(page, extractor, deadline).get(deadline.timeoutMillis(Long.MAX_VALUE), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.gang.newsBot.util;
+
+/**
+ * Бюджет повторов: каждый запрос пополняет его на долю токена, каждый повтор тратит токен целиком.
+ * Так повторы не превышают заданную долю трафика к хосту, даже когда он лежит.
+ */
+public class RetryBudget {
+    public static final RetryBudget UNLIMITED = new RetryBudget(0, 0) {
+        @Override
+        public void onRequest() {
+        }
+
+        @Override
+        public boolean tryAcquire() {
+            return true;
+        }
+    };
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public RetryBudget(double ratio, double maxTokens) {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+    }
+
+    public synchronized void onRequest() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1.0) return false;
+        tokens -= 1.0;
+        return true;
+    }
+}
@@ -0,0 +1,110 @@
+package ru.gang.newsBot.util;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.gang.newsBot.config.RetryPolicyConfig;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Правила повторов для хоста: какие ошибки повторять и сколько ждать перед следующей попыткой.
+ */
+@Slf4j
+public class RetryPolicy {
+    public static final RetryPolicy DEFAULT = from(new RetryPolicyConfig.Policy());
+
+    private final Integer maxRetries;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final Set<Integer> retryStatuses;
+    private final List<Class<?>> retryExceptions;
+    private final boolean respectRetryAfter;
+    private final long maxRetryAfterMs;
+
+    private RetryPolicy(RetryPolicyConfig.Policy config, List<Class<?>> retryExceptions) {
+        this.maxRetries = config.getMaxRetries();
+        this.baseDelayMs = config.getBaseDelayMs();
+        this.maxDelayMs = config.getMaxDelayMs();
+        this.retryStatuses = Set.copyOf(config.getRetryStatuses());
+        this.retryExceptions = retryExceptions;
+        this.respectRetryAfter = config.isRespectRetryAfter();
+        this.maxRetryAfterMs = config.getMaxRetryAfterMs();
+    }
+
+    public static RetryPolicy from(RetryPolicyConfig.Policy config) {
+        List<Class<?>> exceptions = new ArrayList<>();
+        for (String className : config.getRetryExceptions()) {
+            try {
+                exceptions.add(Class.forName(className));
+            } catch (ClassNotFoundException e) {
+                log.warn("Неизвестный класс исключения в политике повторов: {}", className);
+            }
+        }
+        return new RetryPolicy(config, exceptions);
+    }
+
+    public int maxRetries(int requestMaxRetries) {
+        return maxRetries != null ? maxRetries : requestMaxRetries;
+    }
+
+    public boolean isRetryable(Throwable error) {
+        if (error instanceof HttpRequestUtil.HttpResponseException response) {
+            return retryStatuses.contains(response.getStatusCode());
+        }
+        for (Class<?> type : retryExceptions) {
+            if (type.isInstance(error)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Решение о повторе после ошибки: задержка в мс или -1, если повторять не нужно
+     * (ошибка не из списка, попытки или бюджет исчерпаны, ожидание не укладывается в дедлайн).
+     */
+    public long nextRetryDelay(int retry, int maxRetries, Throwable error, RetryBudget budget, CycleDeadline deadline) {
+        if (retry > maxRetries || !isRetryable(error)) return -1;
+        if (!budget.tryAcquire()) {
+            log.warn("Бюджет повторов исчерпан, повтор не выполняется: {}", error.getMessage());
+            return -1;
+        }
+        long delayMs = delayMillis(retry, error);
+        if (deadline.isBounded() && delayMs >= deadline.remainingMillis()) return -1;
+        return delayMs;
+    }
+
+    /**
+     * Задержка перед повтором номер {@code retry} (с единицы): полный джиттер
+     * в пределах экспоненты либо Retry-After от сервера, если он есть.
+     */
+    public long delayMillis(int retry, Throwable error) {
+        if (respectRetryAfter && error instanceof HttpRequestUtil.HttpResponseException response) {
+            long retryAfterMs = parseRetryAfter(response.getRetryAfter());
+            if (retryAfterMs >= 0) {
+                return Math.min(retryAfterMs, maxRetryAfterMs);
+            }
+        }
+        long cap = Math.min(maxDelayMs, baseDelayMs << Math.min(retry - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) return -1;
+        try {
+            return Duration.ofSeconds(Long.parseLong(retryAfter.trim())).toMillis();
+        } catch (NumberFormatException e) {
+            try {
+                Instant at = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return Math.max(0, Duration.between(Instant.now(), at).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package ru.gang.newsBot.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import ru.gang.newsBot.config.RetryPolicyConfig;
+import ru.gang.newsBot.util.HttpRequestUtil.RequestConfig;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Загрузка страниц с повторами по политике хоста (news.http.retry.*) и общим бюджетом повторов на хост.
+ */
+@Slf4j
+@Component
+public class RetryingFetcher {
+    private final RetryPolicyConfig config;
+    private final ScheduledExecutorService schedulerExecutor;
+
+    private final Map<String, RetryPolicy> policies = new ConcurrentHashMap<>();
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    public RetryingFetcher(RetryPolicyConfig config,
+                           @Qualifier("schedulerExecutor") ScheduledExecutorService schedulerExecutor) {
+        this.config = config;
+        this.schedulerExecutor = schedulerExecutor;
+    }
+
+    /**
+     * Одна попытка загрузки с уже рассчитанным таймаутом; возвращает незавершённый future.
+     */
+    @FunctionalInterface
+    public interface Attempt {
+        CompletableFuture<FetchedPage> fetch(int timeoutMs, int attempt);
+    }
+
+    /**
+     * Как и где выполняется каждая попытка, решает {@code fetch},
+     * а паузы между ними отсчитывает планировщик, так что во время ожидания повтора поток не занят.
+     */
+    public CompletableFuture<FetchedPage> fetchPageAsync(String url, RequestConfig requestConfig, CycleDeadline deadline,
+                                                         Attempt fetch) {
+        String host = hostOf(url);
+        RetryPolicy policy = policyFor(host);
+        RetryBudget budget = budgetFor(host);
+        budget.onRequest();
+
+        CompletableFuture<FetchedPage> result = new CompletableFuture<>();
+        deadline.track(result);
+        result.whenComplete((page, ex) -> deadline.untrack(result));
+
+        attempt(url, requestConfig, deadline, fetch, policy, budget, 1, requestConfig.getInitialTimeoutMs(), result);
+        return result;
+    }
+
+    private void attempt(String url, RequestConfig requestConfig, CycleDeadline deadline, Attempt fetch,
+                         RetryPolicy policy, RetryBudget budget, int attempt, int timeoutMs,
+                         CompletableFuture<FetchedPage> result) {
+        if (result.isDone()) return;
+        if (deadline.isExpired()) {
+            result.completeExceptionally(new TimeoutException("Дедлайн цикла истёк до запроса " + url));
+            return;
+        }
+
+        CompletableFuture<FetchedPage> pending;
+        try {
+            pending = fetch.fetch(deadline.timeoutMillis(timeoutMs), attempt);
+        } catch (RuntimeException e) {
+            pending = CompletableFuture.failedFuture(e);
+        }
+
+        pending.whenComplete((page, ex) -> {
+            if (ex == null) {
+                result.complete(page);
+                return;
+            }
+
+            Throwable error = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            int maxRetries = policy.maxRetries(requestConfig.getMaxRetries());
+            long delayMs = policy.nextRetryDelay(attempt, maxRetries, error, budget, deadline);
+            if (delayMs < 0) {
+                log.error("Ошибка при запросе {} (попытка #{}): {}", url, attempt, error.getMessage());
+                result.completeExceptionally(error);
+                return;
+            }
+
+            log.debug("Попытка #{} к {} не удалась ({}), повтор через {} мс", attempt, url, error.getMessage(), delayMs);
+            int nextTimeout = HttpRequestUtil.nextTimeout(timeoutMs, error, requestConfig);
+            schedulerExecutor.schedule(() -> attempt(url, requestConfig, deadline, fetch, policy, budget,
+                    attempt + 1, nextTimeout, result), delayMs, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private RetryPolicy policyFor(String host) {
+        return policies.computeIfAbsent(host, h -> {
+            RetryPolicyConfig.Policy hostPolicy = config.getHosts().get(h);
+            return RetryPolicy.from(hostPolicy != null ? hostPolicy : config.getDefaults());
+        });
+    }
+
+    private RetryBudget budgetFor(String host) {
+        return budgets.computeIfAbsent(host, h -> {
+            RetryPolicyConfig.Policy hostPolicy = config.getHosts().getOrDefault(h, config.getDefaults());
+            return new RetryBudget(hostPolicy.getBudgetRatio(), hostPolicy.getMaxBudgetTokens());
+        });
+    }
+
+    private String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+}
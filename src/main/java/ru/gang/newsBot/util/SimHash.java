@@ -0,0 +1,78 @@
+package ru.gang.newsBot.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class SimHash {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SimHash() {
+    }
+
+    public static long compute(String text, int shingleSize) {
+        List<String> shingles = shingles(text, shingleSize);
+        if (shingles.isEmpty()) return 0L;
+
+        int[] weights = new int[64];
+        for (String shingle : shingles) {
+            long hash = hash64(shingle);
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((hash >>> bit) & 1L) == 1L ? 1 : -1;
+            }
+        }
+
+        long fingerprint = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) fingerprint |= 1L << bit;
+        }
+        return fingerprint;
+    }
+
+    public static int hammingDistance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    static List<String> shingles(String text, int shingleSize) {
+        if (text == null) return List.of();
+
+        String normalized = text.toLowerCase(Locale.ROOT)
+                .replace('ё', 'е')
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+        if (normalized.isEmpty()) return List.of();
+
+        String[] tokens = normalized.split(" ");
+        List<String> result = new ArrayList<>();
+        if (tokens.length <= shingleSize) {
+            result.add(String.join(" ", tokens));
+            return result;
+        }
+
+        for (int i = 0; i + shingleSize <= tokens.length; i++) {
+            StringBuilder shingle = new StringBuilder();
+            for (int j = i; j < i + shingleSize; j++) {
+                if (j > i) shingle.append(' ');
+                shingle.append(tokens[j]);
+            }
+            result.add(shingle.toString());
+        }
+        return result;
+    }
+
+    private static long hash64(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.gang.newsBot.util;
+
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiValidationException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Разбор ошибок Bot API, общий для основного бота и арендаторов.
+ */
+public final class TelegramErrors {
+    private static final int DEFAULT_RETRY_AFTER_SECONDS = 30;
+
+    private TelegramErrors() {
+    }
+
+    public static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
+    public static boolean isThrottled(TelegramApiRequestException e) {
+        return e.getErrorCode() != null && e.getErrorCode() == 429;
+    }
+
+    public static Duration retryAfter(TelegramApiRequestException e) {
+        Integer retryAfter = e.getParameters() != null ? e.getParameters().getRetryAfter() : null;
+        return Duration.ofSeconds(retryAfter != null ? retryAfter : DEFAULT_RETRY_AFTER_SECONDS);
+    }
+
+    /**
+     * Повтор той же отправки не поможет: запрос не прошёл проверку или отклонён с 4xx, кроме 429.
+     */
+    public static boolean isTerminal(Throwable cause) {
+        if (cause instanceof TelegramApiValidationException) return true;
+        return cause instanceof TelegramApiRequestException requestException
+                && requestException.getErrorCode() != null
+                && requestException.getErrorCode() >= 400 && requestException.getErrorCode() < 500
+                && !isThrottled(requestException);
+    }
+}
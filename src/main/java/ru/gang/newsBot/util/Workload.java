@@ -0,0 +1,12 @@
+package ru.gang.newsBot.util;
+
+/**
+ * Вид нагрузки; у каждого свой пул потоков, чтобы очередь одного не задерживала остальные.
+ */
+public enum Workload {
+    FEED,
+    SCRAPE,
+    SEND,
+    PERSIST,
+    POLL
+}
@@ -0,0 +1,28 @@
+-- Схема архива новостей (NewsArchiveEntry) для PostgreSQL.
+-- Скрипт идемпотентный: можно применять вручную или через
+-- spring.sql.init.mode=always и spring.sql.init.schema-locations=classpath:db/news_archive.sql
+
+CREATE SEQUENCE IF NOT EXISTS news_archive_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS news_archive (
+    id                 BIGINT                   NOT NULL PRIMARY KEY,
+    feed               VARCHAR(512),
+    category           VARCHAR(64),
+    url                VARCHAR(1024)            NOT NULL,
+    guid               VARCHAR(1024),
+    title              VARCHAR(1024),
+    pub_date           TIMESTAMP(6) WITH TIME ZONE,
+    image_url          VARCHAR(1024),
+    status             VARCHAR(16)              NOT NULL CHECK (status IN ('INGESTED', 'POSTED', 'FAILED')),
+    ingested_at        TIMESTAMP(6) WITH TIME ZONE,
+    posted_at          TIMESTAMP(6) WITH TIME ZONE,
+    enrich_duration_ms BIGINT,
+    send_duration_ms   BIGINT,
+    attempts           INTEGER                  NOT NULL DEFAULT 0
+);
+
+-- Дедупликация по адресу и guid, выборка опубликованного по категории, история ленты
+CREATE UNIQUE INDEX IF NOT EXISTS ux_news_archive_url ON news_archive (url);
+CREATE INDEX IF NOT EXISTS ix_news_archive_guid ON news_archive (guid);
+CREATE INDEX IF NOT EXISTS ix_news_archive_category_posted ON news_archive (category, posted_at);
+CREATE INDEX IF NOT EXISTS ix_news_archive_feed_pub_date ON news_archive (feed, pub_date);
@@ -0,0 +1,171 @@
+package ru.gang.newsBot.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.gang.newsBot.NewsBotApplication;
+import ru.gang.newsBot.bot.NewsBot;
+import ru.gang.newsBot.config.ThreadPoolConfig.ThreadPoolMonitor;
+import ru.gang.newsBot.config.ThreadPoolConfig.ThreadPoolStats;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Прогоняет циклы {@link NewsBot#fetchAndPostNews()} против локальных заглушек RSS/статей и Telegram Bot API.
+ * Параметры задаются системными свойствами {@code loadtest.*}, см. {@link LoadTestSettings}.
+ */
+@Slf4j
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        Path sentNewsFile = Files.createTempFile("loadtest-sent-news", ".txt");
+
+        try (StubNewsServer newsServer = new StubNewsServer(settings);
+             StubTelegramServer telegramServer = new StubTelegramServer(settings)) {
+            newsServer.start();
+            telegramServer.start();
+
+            // Аргументы запуска переопределяют настройки стенда с тем же ключом
+            List<String> applicationArgs = new ArrayList<>(Arrays.asList(args));
+            applicationProperties(settings, newsServer, telegramServer, sentNewsFile).forEach((key, value) -> {
+                if (applicationArgs.stream().noneMatch(arg -> arg.startsWith("--" + key + "="))) {
+                    applicationArgs.add("--" + key + "=" + value);
+                }
+            });
+
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(NewsBotApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .applicationStartup(new BufferingApplicationStartup(4096))
+                    .run(applicationArgs.toArray(new String[0]));
+
+            try {
+                run(settings, context, newsServer, telegramServer);
+            } finally {
+                context.close();
+            }
+        } finally {
+            Files.deleteIfExists(sentNewsFile);
+        }
+    }
+
+    private static Map<String, String> applicationProperties(LoadTestSettings settings, StubNewsServer newsServer,
+                                                             StubTelegramServer telegramServer, Path sentNewsFile) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.autoconfigure.exclude", String.join(",",
+                "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+                "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration",
+                "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+                "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration"));
+        properties.put("spring.devtools.restart.enabled", "false");
+        properties.put("telegram.bot.username", "loadtest_bot");
+        properties.put("telegram.bot.token", "loadtest-token");
+        properties.put("telegram.bot.base-url", telegramServer.baseUrl());
+        properties.put("news.rss.feeds", String.join(",", newsServer.feedUrls()));
+        properties.put("news.channels.russia", "-1001");
+        properties.put("news.channels.world", "-1002");
+        properties.put("news.channels.economy", "-1003");
+        properties.put("news.channels.former_ussr", "-1004");
+        properties.put("news.fetch.enabled", "false");
+        properties.put("news.fetch.interval", "3600000");
+        properties.put("news.cycle.deadline-ms", String.valueOf(settings.getCycleDeadlineMs()));
+        properties.put("news.archive.enabled", "false");
+        properties.put("news.snapshot.enabled", "false");
+        properties.put("news.sent-news-file", sentNewsFile.toString());
+        return properties;
+    }
+
+    private static void run(LoadTestSettings settings, ConfigurableApplicationContext context,
+                            StubNewsServer newsServer, StubTelegramServer telegramServer) throws Exception {
+        NewsBot newsBot = context.getBean(NewsBot.class);
+        PoolSampler sampler = new PoolSampler(context.getBean(ThreadPoolMonitor.class));
+        ScheduledExecutorService samplerExecutor = Executors.newSingleThreadScheduledExecutor();
+        samplerExecutor.scheduleAtFixedRate(sampler::sample, 0, settings.getPoolSampleIntervalMs(), TimeUnit.MILLISECONDS);
+
+        List<Long> cycleTimes = new ArrayList<>();
+        long startedAt = System.nanoTime();
+        try {
+            for (int cycle = 1; cycle <= settings.getCycles(); cycle++) {
+                newsServer.nextGeneration();
+                long cycleStartedAt = System.nanoTime();
+                newsBot.fetchAndPostNews().get(settings.getCycleDeadlineMs() * 2, TimeUnit.MILLISECONDS);
+                long cycleMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - cycleStartedAt);
+                cycleTimes.add(cycleMs);
+                log.info("Нагрузочный цикл {}/{} завершён за {} мс", cycle, settings.getCycles(), cycleMs);
+            }
+        } finally {
+            samplerExecutor.shutdownNow();
+        }
+        long totalMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+        report(settings, cycleTimes, totalMs, newsServer, telegramServer, sampler);
+    }
+
+    private static void report(LoadTestSettings settings, List<Long> cycleTimes, long totalMs,
+                               StubNewsServer newsServer, StubTelegramServer telegramServer, PoolSampler sampler) {
+        LongSummaryStatistics cycleStats = cycleTimes.stream().mapToLong(Long::longValue).summaryStatistics();
+        List<Long> sorted = new ArrayList<>(cycleTimes);
+        Collections.sort(sorted);
+        long p95 = sorted.isEmpty() ? 0 : sorted.get(Math.max(0, (int) Math.ceil(sorted.size() * 0.95) - 1));
+
+        long items = telegramServer.getDeliveredItems().get();
+        long fetches = newsServer.getFeedRequests().get() + newsServer.getArticleRequests().get()
+                + newsServer.getImageRequests().get();
+
+        StringBuilder report = new StringBuilder("\n===== Отчёт нагрузочного прогона =====\n");
+        report.append(String.format("Лент: %d, элементов в ленте: %d, циклов: %d%n",
+                settings.getFeeds(), settings.getItemsPerFeed(), settings.getCycles()));
+        report.append(String.format("Время цикла, мс: min=%d avg=%.0f p95=%d max=%d%n",
+                cycleStats.getMin(), cycleStats.getAverage(), p95, cycleStats.getMax()));
+        report.append(String.format("Отправлено элементов: %d (%.2f элементов/с)%n", items, items * 1000.0 / totalMs));
+        report.append(String.format("Запросы к источникам: ленты=%d, статьи=%d, изображения=%d, ошибки=%d%n",
+                newsServer.getFeedRequests().get(), newsServer.getArticleRequests().get(),
+                newsServer.getImageRequests().get(), newsServer.getInjectedErrors().get()));
+        report.append(String.format("Запросов на отправленный элемент: %s%n",
+                items == 0 ? "n/a" : String.format("%.2f", (double) fetches / items)));
+        report.append(String.format("Telegram: принято=%d, ограничено (429)=%d, по методам=%s%n",
+                telegramServer.getAcceptedCalls().get(), telegramServer.getThrottledCalls().get(),
+                telegramServer.getCallsByMethod()));
+        sampler.peaks().forEach((pool, peak) -> report.append(String.format(
+                "Пул %s: пик активных=%d/%d, пик очереди=%d, насыщение=%.0f%%%n",
+                pool, peak.activeCount, peak.maxPoolSize, peak.queueSize,
+                peak.maxPoolSize == 0 ? 0.0 : peak.activeCount * 100.0 / peak.maxPoolSize)));
+        log.info(report.toString());
+    }
+
+    private static class PoolSampler {
+        private final ThreadPoolMonitor monitor;
+        private final Map<String, Peak> peaks = new TreeMap<>();
+
+        PoolSampler(ThreadPoolMonitor monitor) {
+            this.monitor = monitor;
+        }
+
+        synchronized void sample() {
+            monitor.getStats().forEach((name, stats) -> peaks.computeIfAbsent(name, n -> new Peak()).update(stats));
+        }
+
+        synchronized Map<String, Peak> peaks() {
+            return new TreeMap<>(peaks);
+        }
+    }
+
+    private static class Peak {
+        int activeCount;
+        int maxPoolSize;
+        int queueSize;
+
+        void update(ThreadPoolStats stats) {
+            activeCount = Math.max(activeCount, stats.getActiveCount());
+            maxPoolSize = Math.max(maxPoolSize, stats.getMaxPoolSize());
+            queueSize = Math.max(queueSize, stats.getQueueSize());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.gang.newsBot.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class LoadTestSettings {
+    private final int feeds;
+    private final int itemsPerFeed;
+    private final int cycles;
+    private final long feedLatencyMs;
+    private final long articleLatencyMs;
+    private final long latencyJitterMs;
+    private final double errorRate;
+    private final double placeholderImageRate;
+    private final long telegramLatencyMs;
+    private final int telegramGlobalPerSecond;
+    private final int telegramPerChatPerMinute;
+    private final long cycleDeadlineMs;
+    private final long poolSampleIntervalMs;
+
+    public static LoadTestSettings fromSystemProperties() {
+        return LoadTestSettings.builder()
+                .feeds(Integer.getInteger("loadtest.feeds", 50))
+                .itemsPerFeed(Integer.getInteger("loadtest.items-per-feed", 20))
+                .cycles(Integer.getInteger("loadtest.cycles", 5))
+                .feedLatencyMs(Long.getLong("loadtest.feed-latency-ms", 50))
+                .articleLatencyMs(Long.getLong("loadtest.article-latency-ms", 150))
+                .latencyJitterMs(Long.getLong("loadtest.latency-jitter-ms", 100))
+                .errorRate(Double.parseDouble(System.getProperty("loadtest.error-rate", "0.02")))
+                .placeholderImageRate(Double.parseDouble(System.getProperty("loadtest.placeholder-image-rate", "0.1")))
+                .telegramLatencyMs(Long.getLong("loadtest.telegram-latency-ms", 80))
+                .telegramGlobalPerSecond(Integer.getInteger("loadtest.telegram-global-per-second", 30))
+                .telegramPerChatPerMinute(Integer.getInteger("loadtest.telegram-per-chat-per-minute", 20))
+                .cycleDeadlineMs(Long.getLong("loadtest.cycle-deadline-ms", 120000))
+                .poolSampleIntervalMs(Long.getLong("loadtest.pool-sample-interval-ms", 100))
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package ru.gang.newsBot.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class StubNewsServer implements AutoCloseable {
+    private static final String[] CATEGORIES = {"Россия", "Мир", "Экономика", "Бывший СССР"};
+    private static final String[] WORDS = {
+            "правительство", "рынок", "заявил", "переговоры", "министр", "рост", "снижение", "курс",
+            "выборы", "санкции", "компания", "регион", "проект", "бюджет", "отчёт", "суд", "визит",
+            "соглашение", "экспорт", "инфляция", "реформа", "банк", "нефть", "газ", "столица", "совет"
+    };
+    private static final String PLACEHOLDER_IMAGE = "/assets/webpack/images/lenta_og.0123abcd.png";
+    private static final byte[] IMAGE_BYTES = new byte[2048];
+
+    private final LoadTestSettings settings;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger generation = new AtomicInteger();
+
+    @Getter private final AtomicLong feedRequests = new AtomicLong();
+    @Getter private final AtomicLong articleRequests = new AtomicLong();
+    @Getter private final AtomicLong imageRequests = new AtomicLong();
+    @Getter private final AtomicLong injectedErrors = new AtomicLong();
+
+    public StubNewsServer(LoadTestSettings settings) throws IOException {
+        this.settings = settings;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        server.createContext("/feed/", this::handleFeed);
+        server.createContext("/article/", this::handleArticle);
+        server.createContext("/images/", this::handleImage);
+        server.createContext("/assets/", this::handleImage);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Заглушка RSS/статей запущена на {}", baseUrl());
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public List<String> feedUrls() {
+        List<String> urls = new ArrayList<>(settings.getFeeds());
+        for (int i = 0; i < settings.getFeeds(); i++) {
+            urls.add(baseUrl() + "/feed/" + i + ".xml");
+        }
+        return urls;
+    }
+
+    public void nextGeneration() {
+        generation.incrementAndGet();
+    }
+
+    private void handleFeed(HttpExchange exchange) throws IOException {
+        feedRequests.incrementAndGet();
+        if (simulate(exchange, settings.getFeedLatencyMs())) return;
+
+        String path = exchange.getRequestURI().getPath();
+        int feed = Integer.parseInt(path.substring("/feed/".length(), path.length() - ".xml".length()));
+        int gen = generation.get();
+
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<rss version=\"2.0\"><channel>")
+                .append("<title>Stub feed ").append(feed).append("</title>");
+        ZonedDateTime now = ZonedDateTime.now();
+        for (int k = 0; k < settings.getItemsPerFeed(); k++) {
+            String id = feed + "-" + gen + "-" + k;
+            String imageUrl = ThreadLocalRandom.current().nextDouble() < settings.getPlaceholderImageRate()
+                    ? baseUrl() + PLACEHOLDER_IMAGE
+                    : imageUrl(id);
+            xml.append("<item>")
+                    .append("<guid>").append(id).append("</guid>")
+                    .append("<title>").append(sentence(id, 8)).append("</title>")
+                    .append("<link>").append(baseUrl()).append("/article/").append(id).append("</link>")
+                    .append("<description>").append(sentence(id + "d", 6)).append("</description>")
+                    .append("<pubDate>").append(DateTimeFormatter.RFC_1123_DATE_TIME.format(now.minusMinutes(k))).append("</pubDate>")
+                    .append("<category>").append(CATEGORIES[(feed + k) % CATEGORIES.length]).append("</category>")
+                    .append("<enclosure url=\"").append(imageUrl).append("\" type=\"image/jpeg\"/>")
+                    .append("</item>");
+        }
+        xml.append("</channel></rss>");
+        respond(exchange, 200, "application/rss+xml; charset=utf-8", xml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleArticle(HttpExchange exchange) throws IOException {
+        articleRequests.incrementAndGet();
+        if (simulate(exchange, settings.getArticleLatencyMs())) return;
+
+        String id = exchange.getRequestURI().getPath().substring("/article/".length());
+        String image = ThreadLocalRandom.current().nextDouble() < settings.getPlaceholderImageRate()
+                ? baseUrl() + PLACEHOLDER_IMAGE
+                : imageUrl(id);
+
+        StringBuilder html = new StringBuilder("<html><head><meta property=\"og:image\" content=\"")
+                .append(image).append("\"><meta name=\"description\" content=\"").append(sentence(id, 12))
+                .append("\"></head><body><article>");
+        for (int p = 0; p < 6; p++) {
+            html.append("<p>").append(sentence(id + "p" + p, 40)).append("</p>");
+        }
+        html.append("</article></body></html>");
+        respond(exchange, 200, "text/html; charset=utf-8", html.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleImage(HttpExchange exchange) throws IOException {
+        imageRequests.incrementAndGet();
+        respond(exchange, 200, "image/jpeg", IMAGE_BYTES);
+    }
+
+    private boolean simulate(HttpExchange exchange, long latencyMs) throws IOException {
+        long jitter = settings.getLatencyJitterMs() > 0 ? ThreadLocalRandom.current().nextLong(settings.getLatencyJitterMs()) : 0;
+        try {
+            TimeUnit.MILLISECONDS.sleep(latencyMs + jitter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (ThreadLocalRandom.current().nextDouble() < settings.getErrorRate()) {
+            injectedErrors.incrementAndGet();
+            respond(exchange, 500, "text/plain", "stub error".getBytes(StandardCharsets.UTF_8));
+            return true;
+        }
+        return false;
+    }
+
+    private String imageUrl(String id) {
+        return baseUrl() + "/images/2026/10/19/12/" + id + ".jpg";
+    }
+
+    private String sentence(String seed, int words) {
+        Random random = new Random(seed.hashCode());
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sentence.append(' ');
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.append(' ').append(seed).toString();
+    }
+
+    private void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
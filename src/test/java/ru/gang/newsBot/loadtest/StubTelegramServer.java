@@ -0,0 +1,166 @@
+package ru.gang.newsBot.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+public class StubTelegramServer implements AutoCloseable {
+    private static final Pattern MULTIPART_CHAT_ID = Pattern.compile("name=\"chat_id\"\\r?\\n(?:[^\\r\\n]+\\r?\\n)*\\r?\\n([^\\r\\n]+)");
+    private static final Pattern JSON_CHAT_ID = Pattern.compile("\"chat_id\"\\s*:\\s*\"?([^\",}]+)");
+    private static final Pattern MEDIA_COUNT = Pattern.compile("\"type\"\\s*:\\s*\"photo\"");
+
+    private final LoadTestSettings settings;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Deque<Long> globalWindow = new ArrayDeque<>();
+    private final Map<String, Deque<Long>> chatWindows = new ConcurrentHashMap<>();
+    private final AtomicLong messageIds = new AtomicLong();
+
+    @Getter private final AtomicLong acceptedCalls = new AtomicLong();
+    @Getter private final AtomicLong deliveredItems = new AtomicLong();
+    @Getter private final AtomicLong throttledCalls = new AtomicLong();
+    @Getter private final Map<String, AtomicLong> callsByMethod = new ConcurrentHashMap<>();
+
+    public StubTelegramServer(LoadTestSettings settings) throws IOException {
+        this.settings = settings;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Заглушка Telegram Bot API запущена на {}", baseUrl());
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/bot";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = path.substring(path.lastIndexOf('/') + 1);
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        callsByMethod.computeIfAbsent(method, m -> new AtomicLong()).incrementAndGet();
+
+        try {
+            TimeUnit.MILLISECONDS.sleep(settings.getTelegramLatencyMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String chatId = extractChatId(body);
+        long retryAfter = acquire(chatId);
+        if (retryAfter > 0) {
+            throttledCalls.incrementAndGet();
+            respond(exchange, 429, "{\"ok\":false,\"error_code\":429,\"description\":\"Too Many Requests: retry after "
+                    + retryAfter + "\",\"parameters\":{\"retry_after\":" + retryAfter + "}}");
+            return;
+        }
+
+        acceptedCalls.incrementAndGet();
+        switch (method) {
+            case "getMe" -> respond(exchange, 200,
+                    "{\"ok\":true,\"result\":{\"id\":1,\"is_bot\":true,\"first_name\":\"stub\",\"username\":\"stub_bot\"}}");
+            case "sendMediaGroup" -> {
+                int count = Math.max(1, countMatches(MEDIA_COUNT.matcher(body)));
+                deliveredItems.addAndGet(count);
+                StringBuilder result = new StringBuilder("{\"ok\":true,\"result\":[");
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) result.append(',');
+                    result.append(message(chatId));
+                }
+                respond(exchange, 200, result.append("]}").toString());
+            }
+            default -> {
+                deliveredItems.incrementAndGet();
+                respond(exchange, 200, "{\"ok\":true,\"result\":" + message(chatId) + "}");
+            }
+        }
+    }
+
+    private synchronized long acquire(String chatId) {
+        long now = System.currentTimeMillis();
+        prune(globalWindow, now - 1000);
+        if (globalWindow.size() >= settings.getTelegramGlobalPerSecond()) {
+            return 1;
+        }
+
+        Deque<Long> chatWindow = chatWindows.computeIfAbsent(chatId, c -> new ArrayDeque<>());
+        prune(chatWindow, now - 60000);
+        if (chatWindow.size() >= settings.getTelegramPerChatPerMinute()) {
+            return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(chatWindow.peekFirst() + 60000 - now));
+        }
+
+        globalWindow.addLast(now);
+        chatWindow.addLast(now);
+        return 0;
+    }
+
+    private void prune(Deque<Long> window, long threshold) {
+        while (!window.isEmpty() && window.peekFirst() < threshold) {
+            window.pollFirst();
+        }
+    }
+
+    private String extractChatId(String body) {
+        Matcher multipart = MULTIPART_CHAT_ID.matcher(body);
+        if (multipart.find()) return multipart.group(1).trim();
+        Matcher json = JSON_CHAT_ID.matcher(body);
+        if (json.find()) return json.group(1).trim();
+        return "unknown";
+    }
+
+    private String message(String chatId) {
+        long numericChatId;
+        try {
+            numericChatId = Long.parseLong(chatId);
+        } catch (NumberFormatException e) {
+            numericChatId = 0;
+        }
+        return "{\"message_id\":" + messageIds.incrementAndGet() + ",\"date\":" + System.currentTimeMillis() / 1000
+                + ",\"chat\":{\"id\":" + numericChatId + ",\"type\":\"channel\"}}";
+    }
+
+    private int countMatches(Matcher matcher) {
+        int count = 0;
+        while (matcher.find()) count++;
+        return count;
+    }
+
+    private void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
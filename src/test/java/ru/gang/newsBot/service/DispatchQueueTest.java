@@ -0,0 +1,150 @@
+package ru.gang.newsBot.service;
+
+import org.junit.jupiter.api.Test;
+import ru.gang.newsBot.config.DispatchConfig;
+import ru.gang.newsBot.model.NewsItem;
+import ru.gang.newsBot.service.DispatchQueue.DispatchItem;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DispatchQueueTest {
+
+    private static final Instant OLD = Instant.now().minus(Duration.ofHours(2));
+
+    private static DispatchConfig config() {
+        DispatchConfig config = new DispatchConfig();
+        config.setMaxPerChatPerMinute(100);
+        config.setMediaGroupMaxSize(10);
+        return config;
+    }
+
+    private static NewsItem news(String url, String category, Instant pubDate) {
+        return NewsItem.builder().url(url).title(url).category(category).pubDate(pubDate).build();
+    }
+
+    @Test
+    void drainsByCategoryPriorityThenFreshness() {
+        DispatchConfig config = config();
+        config.setCategoryPriorities(Map.of("politics", 5));
+        config.setFreshnessBoost(0);
+        DispatchQueue queue = new DispatchQueue(config, false);
+
+        queue.offer(news("https://a/sport-old", "sport", OLD), "@sport");
+        queue.offer(news("https://a/world-new", "world", OLD.plusSeconds(60)), "@world");
+        queue.offer(news("https://a/politics", "politics", OLD.minusSeconds(60)), "@politics");
+
+        assertThat(queue.drain()).extracting(item -> item.getNews().getUrl())
+                .containsExactly("https://a/politics", "https://a/world-new", "https://a/sport-old");
+    }
+
+    @Test
+    void freshItemsAndPreferredFeedsGetBoost() {
+        DispatchConfig config = config();
+        config.setFreshnessBoost(10);
+        config.setFreshnessWindowMinutes(15);
+        config.setFeedPriorities(Map.of("https://feed/main", 3));
+        DispatchQueue queue = new DispatchQueue(config, false);
+
+        queue.offer(news("https://a/fresh", "world", Instant.now()), "@world");
+        NewsItem preferred = news("https://a/preferred", "sport", OLD);
+        preferred.setFeedUrl("https://feed/main");
+        queue.offer(preferred, "@sport");
+        queue.offer(news("https://a/old", "economy", OLD.plusSeconds(60)), "@economy");
+
+        assertThat(queue.drain()).extracting(DispatchItem::getPriority).containsExactly(10, 3, 0);
+    }
+
+    @Test
+    void keepsFreshestPendingItemPerCategory() {
+        DispatchQueue queue = new DispatchQueue(config(), false);
+
+        queue.offer(news("https://a/2", "world", OLD.plusSeconds(60)), "@world");
+        queue.offer(news("https://a/1", "world", OLD), "@world");
+        assertThat(queue.pendingCount()).isEqualTo(1);
+
+        queue.offer(news("https://a/3", "world", OLD.plusSeconds(120)), "@world");
+
+        assertThat(queue.drain()).extracting(item -> item.getNews().getUrl()).containsExactly("https://a/3");
+    }
+
+    @Test
+    void defersItemsOverPerChatLimit() {
+        DispatchConfig config = config();
+        config.setMaxPerChatPerMinute(2);
+        DispatchQueue queue = new DispatchQueue(config, false);
+
+        queue.offer(news("https://a/1", "world", OLD), "@main");
+        queue.offer(news("https://a/2", "sport", OLD), "@main");
+        queue.offer(news("https://a/3", "economy", OLD), "@main");
+        queue.offer(news("https://a/4", "world", OLD), "@other");
+
+        List<DispatchItem> ready = queue.drain();
+
+        assertThat(ready).hasSize(3);
+        assertThat(ready).filteredOn(item -> item.getChannelId().equals("@main")).hasSize(2);
+        assertThat(queue.pendingCount()).isEqualTo(1);
+        assertThat(queue.drain()).isEmpty();
+    }
+
+    @Test
+    void pausesAndRequeuesWhenThrottled() {
+        DispatchQueue queue = new DispatchQueue(config(), false);
+        queue.offer(news("https://a/1", "world", OLD), "@world");
+        DispatchItem item = queue.drain().get(0);
+
+        queue.onThrottled(item, Duration.ofMinutes(1));
+
+        assertThat(queue.isPaused()).isTrue();
+        assertThat(queue.drain()).isEmpty();
+        assertThat(queue.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void albumModeKeepsEveryItemOfOneCategoryUntilLingerExpires() {
+        DispatchConfig config = config();
+        config.setMediaGroupLingerMs(60000);
+        DispatchQueue queue = new DispatchQueue(config, true);
+
+        queue.offer(news("https://a/1", "world", Instant.now()), "@world");
+        queue.offer(news("https://a/2", "world", Instant.now()), "@world");
+
+        assertThat(queue.drain()).isEmpty();
+        assertThat(queue.pendingCount()).isEqualTo(2);
+    }
+
+    @Test
+    void albumModeReleasesFullAlbumBeforeLingerExpires() {
+        DispatchConfig config = config();
+        config.setMediaGroupLingerMs(60000);
+        config.setMediaGroupMaxSize(3);
+        DispatchQueue queue = new DispatchQueue(config, true);
+
+        for (int i = 0; i < 4; i++) {
+            queue.offer(news("https://a/" + i, "world", Instant.now()), "@world");
+        }
+        queue.offer(news("https://b/1", "sport", Instant.now()), "@sport");
+
+        List<DispatchItem> ready = queue.drain();
+
+        assertThat(ready).hasSize(4).allMatch(item -> item.getChannelId().equals("@world"));
+        assertThat(queue.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void albumModeReleasesPartialAlbumAfterLinger() {
+        DispatchConfig config = config();
+        config.setMediaGroupLingerMs(0);
+        DispatchQueue queue = new DispatchQueue(config, true);
+
+        queue.offer(news("https://a/1", "world", Instant.now()), "@world");
+        queue.offer(news("https://a/2", "world", Instant.now()), "@world");
+
+        assertThat(queue.drain()).hasSize(2);
+        assertThat(queue.pendingCount()).isZero();
+    }
+}
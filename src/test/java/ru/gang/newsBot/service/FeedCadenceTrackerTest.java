@@ -0,0 +1,120 @@
+package ru.gang.newsBot.service;
+
+import org.junit.jupiter.api.Test;
+import ru.gang.newsBot.config.AdaptivePollingConfig;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedCadenceTrackerTest {
+
+    private static final String FEED = "https://example.com/rss";
+    private static final Instant T0 = Instant.parse("2024-01-01T10:00:00Z");
+
+    private static AdaptivePollingConfig config() {
+        AdaptivePollingConfig config = new AdaptivePollingConfig();
+        config.setMinIntervalMs(60000);
+        config.setMaxIntervalMs(1800000);
+        config.setInitialIntervalMs(300000);
+        config.setPollFraction(0.5);
+        config.setEwmaAlpha(0.3);
+        config.setBackoffFactor(1.5);
+        config.setJitterRatio(0);
+        return config;
+    }
+
+    private static Instant minutes(long minutes) {
+        return T0.plus(Duration.ofMinutes(minutes));
+    }
+
+    @Test
+    void unknownFeedUsesInitialInterval() {
+        assertThat(new FeedCadenceTracker(config()).nextPollDelayMs(FEED)).isEqualTo(300000);
+    }
+
+    @Test
+    void pollsAtFractionOfSmoothedPublishGap() {
+        FeedCadenceTracker tracker = new FeedCadenceTracker(config());
+
+        tracker.observe(FEED, List.of(minutes(10), minutes(0)));
+        assertThat(tracker.nextPollDelayMs(FEED)).isEqualTo(300000);
+
+        tracker.observe(FEED, List.of(minutes(30)));
+        // 0.3 * 20 мин + 0.7 * 10 мин = 13 мин, опрос через половину
+        assertThat(tracker.nextPollDelayMs(FEED)).isEqualTo(390000);
+    }
+
+    @Test
+    void ignoresItemsNotNewerThanLastSeen() {
+        FeedCadenceTracker tracker = new FeedCadenceTracker(config());
+        tracker.observe(FEED, List.of(minutes(0), minutes(10)));
+
+        tracker.observe(FEED, List.of(minutes(10), minutes(5)));
+
+        assertThat(tracker.nextPollDelayMs(FEED)).isEqualTo(300000);
+    }
+
+    @Test
+    void backsOffAfterEmptyPolls() {
+        FeedCadenceTracker tracker = new FeedCadenceTracker(config());
+        tracker.observe(FEED, List.of(minutes(0), minutes(10)));
+
+        tracker.observe(FEED, List.of());
+        tracker.observe(FEED, List.of());
+
+        assertThat(tracker.nextPollDelayMs(FEED)).isEqualTo(675000);
+
+        tracker.observe(FEED, List.of(minutes(20)));
+        assertThat(tracker.nextPollDelayMs(FEED)).isEqualTo(300000);
+    }
+
+    @Test
+    void backsOffFromInitialIntervalBeforeFirstGap() {
+        FeedCadenceTracker tracker = new FeedCadenceTracker(config());
+        tracker.observe(FEED, List.of(minutes(0)));
+
+        tracker.observe(FEED, List.of());
+
+        assertThat(tracker.nextPollDelayMs(FEED)).isEqualTo(450000);
+    }
+
+    @Test
+    void clampsToConfiguredBounds() {
+        FeedCadenceTracker tracker = new FeedCadenceTracker(config());
+        tracker.observe(FEED, List.of(T0, T0.plusSeconds(10)));
+        assertThat(tracker.nextPollDelayMs(FEED)).isEqualTo(60000);
+
+        for (int i = 0; i < 30; i++) {
+            tracker.observe(FEED, List.of());
+        }
+        assertThat(tracker.nextPollDelayMs(FEED)).isEqualTo(1800000);
+    }
+
+    @Test
+    void jitterStaysWithinRatioAndBounds() {
+        AdaptivePollingConfig config = config();
+        config.setJitterRatio(0.2);
+        FeedCadenceTracker tracker = new FeedCadenceTracker(config);
+
+        for (int i = 0; i < 200; i++) {
+            assertThat(tracker.nextPollDelayMs(FEED)).isBetween(240000L, 360000L);
+        }
+    }
+
+    @Test
+    void snapshotIsDetachedFromLiveState() {
+        FeedCadenceTracker tracker = new FeedCadenceTracker(config());
+        tracker.observe(FEED, List.of(minutes(0), minutes(10)));
+        Serializable snapshot = tracker.captureSnapshot();
+
+        tracker.observe(FEED, List.of());
+        FeedCadenceTracker restored = new FeedCadenceTracker(config());
+        restored.restoreSnapshot(snapshot);
+
+        assertThat(restored.nextPollDelayMs(FEED)).isEqualTo(300000);
+    }
+}
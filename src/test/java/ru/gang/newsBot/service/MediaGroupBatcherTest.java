@@ -0,0 +1,100 @@
+package ru.gang.newsBot.service;
+
+import org.junit.jupiter.api.Test;
+import ru.gang.newsBot.config.DispatchConfig;
+import ru.gang.newsBot.model.NewsItem;
+import ru.gang.newsBot.service.DispatchQueue.DispatchItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MediaGroupBatcherTest {
+
+    private static MediaGroupBatcher batcher() {
+        DispatchConfig config = new DispatchConfig();
+        config.setMediaGroupMaxSize(10);
+        return new MediaGroupBatcher(config);
+    }
+
+    private static List<DispatchItem> items(String channelId, int count) {
+        List<DispatchItem> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            NewsItem news = NewsItem.builder().url("https://example.com/" + channelId + "/" + i).build();
+            items.add(new DispatchItem(news, channelId, 0));
+        }
+        return items;
+    }
+
+    @Test
+    void itemsForOneChatProduceCeilOfTenAlbumCalls() {
+        for (int n : new int[]{1, 9, 10, 11, 25}) {
+            List<List<DispatchItem>> calls = new ArrayList<>();
+
+            batcher().dispatch(items("@news", n), 4, group -> {
+                calls.add(group);
+                return CompletableFuture.completedFuture(true);
+            }).join();
+
+            assertThat(calls).hasSize((n + 9) / 10);
+            assertThat(calls).allSatisfy(group -> assertThat(group).hasSizeLessThanOrEqualTo(10));
+            assertThat(calls.stream().mapToInt(List::size).sum()).isEqualTo(n);
+        }
+    }
+
+    @Test
+    void doesNotMixChatsInOneAlbum() {
+        List<DispatchItem> ready = new ArrayList<>(items("@a", 3));
+        ready.addAll(items("@b", 2));
+        ready.add(items("@a", 4).get(3));
+
+        List<List<DispatchItem>> groups = batcher().batch(ready);
+
+        assertThat(groups).hasSize(2);
+        assertThat(groups.get(0)).hasSize(4).allMatch(item -> item.getChannelId().equals("@a"));
+        assertThat(groups.get(1)).hasSize(2).allMatch(item -> item.getChannelId().equals("@b"));
+    }
+
+    @Test
+    void limitsAlbumsInFlight() {
+        List<DispatchItem> ready = new ArrayList<>();
+        for (int chat = 0; chat < 5; chat++) {
+            ready.addAll(items("@chat" + chat, 3));
+        }
+        List<CompletableFuture<Boolean>> started = new ArrayList<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxSeen = new AtomicInteger();
+
+        CompletableFuture<Void> done = batcher().dispatch(ready, 2, group -> {
+            maxSeen.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<Boolean> sent = new CompletableFuture<>();
+            started.add(sent);
+            return sent.whenComplete((v, ex) -> inFlight.decrementAndGet());
+        });
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(started).hasSize(Math.min(i + 2, 5));
+            started.get(i).complete(true);
+        }
+
+        assertThat(done).isCompleted();
+        assertThat(maxSeen.get()).isEqualTo(2);
+    }
+
+    @Test
+    void failedAlbumDoesNotStopOtherLanes() {
+        List<DispatchItem> ready = new ArrayList<>(items("@a", 1));
+        ready.addAll(items("@b", 1));
+        AtomicInteger calls = new AtomicInteger();
+
+        batcher().dispatch(ready, 1, group -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("boom"));
+        }).join();
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,97 @@
+package ru.gang.newsBot.service;
+
+import org.junit.jupiter.api.Test;
+import ru.gang.newsBot.config.DedupConfig;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearDuplicateDetectorTest {
+
+    private static final long FINGERPRINT = 0x0123456789ABCDEFL;
+    private static final String TITLE = "Центробанк повысил ключевую ставку до 16 процентов";
+    private static final String DESCRIPTION = "Решение принято на заседании совета директоров в пятницу";
+
+    private static NearDuplicateDetector detector(int maxHamming, int windowMinutes) {
+        DedupConfig config = new DedupConfig();
+        config.setMaxHammingDistance(maxHamming);
+        config.setWindowMinutes(windowMinutes);
+        return new NearDuplicateDetector(config);
+    }
+
+    private static long flip(long fingerprint, int... bits) {
+        for (int bit : bits) {
+            fingerprint ^= 1L << bit;
+        }
+        return fingerprint;
+    }
+
+    @Test
+    void findsMatchUpToMaxHammingSpreadAcrossBands() {
+        NearDuplicateDetector detector = detector(3, 60);
+        detector.register("https://a/1", FINGERPRINT, Instant.now());
+
+        // Четыре полосы по 16 бит: три отличия в разных полосах оставляют одну полосу совпадающей
+        assertThat(detector.findMatch("https://b/1", flip(FINGERPRINT, 0, 16, 32), Instant.now()))
+                .isEqualTo("https://a/1");
+        assertThat(detector.findMatch("https://b/1", flip(FINGERPRINT, 0, 16, 32, 48), Instant.now()))
+                .isNull();
+        assertThat(detector.findMatch("https://b/1", flip(FINGERPRINT, 0, 1, 2, 3), Instant.now()))
+                .isNull();
+    }
+
+    @Test
+    void doesNotMatchItself() {
+        NearDuplicateDetector detector = detector(3, 60);
+        detector.register("https://a/1", FINGERPRINT, Instant.now());
+
+        assertThat(detector.findMatch("https://a/1", FINGERPRINT, Instant.now())).isNull();
+    }
+
+    @Test
+    void expiresEntriesOutsideWindow() {
+        NearDuplicateDetector detector = detector(3, 60);
+        Instant now = Instant.now();
+        detector.register("https://a/old", FINGERPRINT, now.minus(Duration.ofMinutes(61)));
+        detector.register("https://a/fresh", flip(FINGERPRINT, 63), now.minus(Duration.ofMinutes(59)));
+
+        assertThat(detector.findMatch("https://b/1", FINGERPRINT, now)).isEqualTo("https://a/fresh");
+        assertThat(detector.size()).isEqualTo(1);
+    }
+
+    @Test
+    void reseenUrlDoesNotGrowIndex() {
+        NearDuplicateDetector detector = detector(3, 60);
+        for (int i = 0; i < 5; i++) {
+            detector.register("https://a/1", FINGERPRINT, Instant.now());
+        }
+
+        assertThat(detector.size()).isEqualTo(1);
+        assertThat(detector.trackedEntries()).isEqualTo(1);
+    }
+
+    @Test
+    void suppressesRewritesOnlyAfterPublication() {
+        NearDuplicateDetector detector = detector(3, 60);
+
+        assertThat(detector.isNearDuplicate("https://a/1", TITLE, DESCRIPTION)).isFalse();
+        assertThat(detector.isNearDuplicate("https://b/1", TITLE, DESCRIPTION)).isFalse();
+        assertThat(detector.size()).isZero();
+
+        detector.markPublished("https://a/1");
+
+        assertThat(detector.isNearDuplicate("https://b/1", TITLE, DESCRIPTION)).isTrue();
+        assertThat(detector.isNearDuplicate("https://a/1", TITLE, DESCRIPTION)).isFalse();
+    }
+
+    @Test
+    void publishingUncheckedUrlIsIgnored() {
+        NearDuplicateDetector detector = detector(3, 60);
+
+        detector.markPublished("https://a/1");
+
+        assertThat(detector.size()).isZero();
+    }
+}
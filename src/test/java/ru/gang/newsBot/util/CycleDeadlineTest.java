@@ -0,0 +1,72 @@
+package ru.gang.newsBot.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CycleDeadlineTest {
+
+    @Test
+    void unboundedNeverExpires() {
+        CycleDeadline deadline = CycleDeadline.unbounded();
+
+        assertThat(deadline.isBounded()).isFalse();
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(deadline.remainingMillis()).isEqualTo(Long.MAX_VALUE);
+        assertThat(deadline.timeoutMillis(5000)).isEqualTo(5000);
+    }
+
+    @Test
+    void timeoutIsCappedByRemainingTime() {
+        CycleDeadline deadline = CycleDeadline.after(1000);
+
+        assertThat(deadline.remainingMillis()).isBetween(1L, 1000L);
+        assertThat(deadline.timeoutMillis(60000)).isBetween(1, 1000);
+        assertThat(deadline.timeoutMillis(10)).isEqualTo(10);
+        assertThat(deadline.timeoutMillis(60000L)).isBetween(1L, 1000L);
+    }
+
+    @Test
+    void expiredDeadlineStillGivesPositiveTimeout() {
+        CycleDeadline deadline = CycleDeadline.after(0);
+
+        assertThat(deadline.isExpired()).isTrue();
+        assertThat(deadline.timeoutMillis(5000)).isEqualTo(1);
+    }
+
+    @Test
+    void cancelOutstandingCancelsTrackedAndLaterTasks() {
+        CycleDeadline deadline = CycleDeadline.after(60000);
+        CompletableFuture<Void> tracked = new CompletableFuture<>();
+        CompletableFuture<Void> untracked = new CompletableFuture<>();
+        deadline.track(tracked);
+        deadline.track(untracked);
+        deadline.untrack(untracked);
+
+        deadline.cancelOutstanding();
+
+        assertThat(tracked).isCancelled();
+        assertThat(untracked).isNotDone();
+        assertThat(deadline.isExpired()).isTrue();
+
+        CompletableFuture<Void> late = new CompletableFuture<>();
+        deadline.track(late);
+        assertThat(late).isCancelled();
+    }
+
+    @Test
+    void completeStopsExpiryTimerWithoutCancellingTasks() {
+        CycleDeadline deadline = CycleDeadline.after(60000);
+        CompletableFuture<Void> timer = new CompletableFuture<>();
+        CompletableFuture<Void> task = new CompletableFuture<>();
+        deadline.setExpiryTimer(timer);
+        deadline.track(task);
+
+        deadline.complete();
+
+        assertThat(timer).isCancelled();
+        assertThat(task).isNotDone();
+    }
+}
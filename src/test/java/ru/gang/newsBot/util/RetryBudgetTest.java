@@ -0,0 +1,50 @@
+package ru.gang.newsBot.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+
+    @Test
+    void startsFullAndSpendsWholeTokens() {
+        RetryBudget budget = new RetryBudget(0.2, 2);
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void refillsByRatioPerRequest() {
+        RetryBudget budget = new RetryBudget(0.25, 1);
+        budget.tryAcquire();
+
+        for (int i = 0; i < 3; i++) {
+            budget.onRequest();
+        }
+        assertThat(budget.tryAcquire()).isFalse();
+
+        budget.onRequest();
+        assertThat(budget.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void doesNotRefillAboveMaxTokens() {
+        RetryBudget budget = new RetryBudget(1, 2);
+
+        for (int i = 0; i < 10; i++) {
+            budget.onRequest();
+        }
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void unlimitedBudgetAlwaysAllowsRetries() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(RetryBudget.UNLIMITED.tryAcquire()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.gang.newsBot.util;
+
+import org.junit.jupiter.api.Test;
+import ru.gang.newsBot.config.RetryPolicyConfig;
+import ru.gang.newsBot.util.HttpRequestUtil.HttpResponseException;
+
+import java.net.SocketTimeoutException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryPolicyTest {
+
+    private static RetryPolicy policy(long baseDelayMs, long maxDelayMs, long maxRetryAfterMs) {
+        RetryPolicyConfig.Policy config = new RetryPolicyConfig.Policy();
+        config.setBaseDelayMs(baseDelayMs);
+        config.setMaxDelayMs(maxDelayMs);
+        config.setMaxRetryAfterMs(maxRetryAfterMs);
+        return RetryPolicy.from(config);
+    }
+
+    @Test
+    void delayStaysWithinExponentialCap() {
+        RetryPolicy policy = policy(100, 1000, 60000);
+        SocketTimeoutException error = new SocketTimeoutException();
+
+        for (int i = 0; i < 200; i++) {
+            assertThat(policy.delayMillis(1, error)).isBetween(0L, 100L);
+            assertThat(policy.delayMillis(3, error)).isBetween(0L, 400L);
+            assertThat(policy.delayMillis(10, error)).isBetween(0L, 1000L);
+        }
+    }
+
+    @Test
+    void delayDoesNotOverflowOnLargeRetryNumbers() {
+        RetryPolicy policy = policy(500, 30000, 60000);
+
+        assertThat(policy.delayMillis(100, new SocketTimeoutException())).isBetween(0L, 30000L);
+    }
+
+    @Test
+    void delayUsesRetryAfterCappedByPolicy() {
+        RetryPolicy policy = policy(100, 1000, 5000);
+
+        assertThat(policy.delayMillis(1, new HttpResponseException("http://host", 429, "2"))).isEqualTo(2000);
+        assertThat(policy.delayMillis(1, new HttpResponseException("http://host", 503, "120"))).isEqualTo(5000);
+    }
+
+    @Test
+    void delayFallsBackToBackoffWhenRetryAfterIgnored() {
+        RetryPolicyConfig.Policy config = new RetryPolicyConfig.Policy();
+        config.setBaseDelayMs(100);
+        config.setMaxDelayMs(100);
+        config.setRespectRetryAfter(false);
+        RetryPolicy policy = RetryPolicy.from(config);
+
+        assertThat(policy.delayMillis(1, new HttpResponseException("http://host", 429, "30"))).isBetween(0L, 100L);
+    }
+
+    @Test
+    void parsesRetryAfterSeconds() {
+        RetryPolicy policy = policy(100, 1000, 60000);
+
+        assertThat(policy.parseRetryAfter("5")).isEqualTo(5000);
+        assertThat(policy.parseRetryAfter(" 0 ")).isZero();
+    }
+
+    @Test
+    void parsesRetryAfterHttpDate() {
+        RetryPolicy policy = policy(100, 1000, 60000);
+        String future = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30));
+        String past = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(30));
+
+        assertThat(policy.parseRetryAfter(future)).isBetween(28000L, 30000L);
+        assertThat(policy.parseRetryAfter(past)).isZero();
+    }
+
+    @Test
+    void rejectsMissingOrMalformedRetryAfter() {
+        RetryPolicy policy = policy(100, 1000, 60000);
+
+        assertThat(policy.parseRetryAfter(null)).isEqualTo(-1);
+        assertThat(policy.parseRetryAfter("  ")).isEqualTo(-1);
+        assertThat(policy.parseRetryAfter("soon")).isEqualTo(-1);
+    }
+
+    @Test
+    void nextRetryDelayStopsOnNonRetryableErrorsAndExhaustedRetries() {
+        RetryPolicy policy = policy(100, 1000, 60000);
+        CycleDeadline deadline = CycleDeadline.unbounded();
+
+        assertThat(policy.nextRetryDelay(1, 3, new HttpResponseException("http://host", 404, null),
+                RetryBudget.UNLIMITED, deadline)).isEqualTo(-1);
+        assertThat(policy.nextRetryDelay(4, 3, new SocketTimeoutException(), RetryBudget.UNLIMITED, deadline))
+                .isEqualTo(-1);
+        assertThat(policy.nextRetryDelay(1, 3, new SocketTimeoutException(), RetryBudget.UNLIMITED, deadline))
+                .isBetween(0L, 100L);
+    }
+
+    @Test
+    void nextRetryDelayStopsWhenWaitExceedsDeadline() {
+        RetryPolicy policy = policy(100, 1000, 60000);
+
+        assertThat(policy.nextRetryDelay(1, 3, new HttpResponseException("http://host", 503, "10"),
+                RetryBudget.UNLIMITED, CycleDeadline.after(1000))).isEqualTo(-1);
+    }
+}
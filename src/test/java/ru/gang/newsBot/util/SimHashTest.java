@@ -0,0 +1,58 @@
+package ru.gang.newsBot.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimHashTest {
+
+    private static final String STORY = "Центробанк повысил ключевую ставку до 16 процентов годовых "
+            + "на заседании совета директоров в пятницу";
+
+    @Test
+    void sameTextGivesSameFingerprint() {
+        long fingerprint = SimHash.compute(STORY, 3);
+
+        assertThat(fingerprint).isNotZero();
+        assertThat(SimHash.compute(STORY, 3)).isEqualTo(fingerprint);
+    }
+
+    @Test
+    void ignoresCasePunctuationAndYo() {
+        assertThat(SimHash.compute("ЦЕНТРОБАНК, повысил... ключевую ставку!", 3))
+                .isEqualTo(SimHash.compute("центробанк повысил ключевую ставку", 3));
+        assertThat(SimHash.compute("Ёлка зажглась на площади", 3))
+                .isEqualTo(SimHash.compute("елка зажглась на площади", 3));
+    }
+
+    @Test
+    void rewriteIsCloserThanUnrelatedStory() {
+        long original = SimHash.compute(STORY, 3);
+        long rewrite = SimHash.compute(STORY.replace("в пятницу", "в эту пятницу"), 3);
+        long unrelated = SimHash.compute("Сборная России по хоккею обыграла команду Финляндии "
+                + "в товарищеском матче в Санкт-Петербурге", 3);
+
+        assertThat(SimHash.hammingDistance(original, rewrite))
+                .isLessThan(SimHash.hammingDistance(original, unrelated));
+    }
+
+    @Test
+    void emptyTextHasNoFingerprint() {
+        assertThat(SimHash.compute(null, 3)).isZero();
+        assertThat(SimHash.compute("", 3)).isZero();
+        assertThat(SimHash.compute(" ... !!! ", 3)).isZero();
+    }
+
+    @Test
+    void shortTextBecomesSingleShingle() {
+        assertThat(SimHash.shingles("Два слова", 3)).containsExactly("два слова");
+        assertThat(SimHash.shingles("раз два три четыре", 3)).containsExactly("раз два три", "два три четыре");
+    }
+
+    @Test
+    void hammingDistanceCountsDifferentBits() {
+        assertThat(SimHash.hammingDistance(0L, 0L)).isZero();
+        assertThat(SimHash.hammingDistance(0b1011L, 0b0001L)).isEqualTo(2);
+        assertThat(SimHash.hammingDistance(0L, -1L)).isEqualTo(64);
+    }
+}